@@ -19,6 +19,7 @@ package org.jboss.shrinkwrap.api;
 import java.io.OutputStream;
 import java.util.Collection;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.jboss.shrinkwrap.api.asset.Asset;
 import org.jboss.shrinkwrap.api.asset.NamedAsset;
@@ -413,6 +414,23 @@ public interface Archive<T extends Archive<T>> extends Assignable {
      */
     Map<ArchivePath, Node> getContent(Filter<ArchivePath> filter);
 
+    /**
+     * Obtains all nodes matching given filter in this archive as a {@link Stream}, in the order they were added. The
+     * filter is applied as the stream is consumed, so no intermediate collection of the matches is built.
+     *
+     * @param filter
+     *            Filter to match the paths of the nodes
+     * @return A stream of the nodes found in the archive matching the filter
+     * @throws IllegalArgumentException
+     *             If the filter is not specified
+     */
+    default Stream<Node> streamContent(Filter<ArchivePath> filter) throws IllegalArgumentException {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter must be specified");
+        }
+        return getContent(filter).values().stream();
+    }
+
     /**
      * Obtains all assets matching given filter in this archive as a new Archive.<br/>
      * <br/>
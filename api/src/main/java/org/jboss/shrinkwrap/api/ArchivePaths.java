@@ -16,12 +16,21 @@
  */
 package org.jboss.shrinkwrap.api;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * A Factory for {@link ArchivePath} creation. Instances using this shorthand class will be created using the
  * {@link ClassLoader} associated with the default {@link Domain}'s {@link Configuration}.
+ * <p>
+ * As paths are immutable, frequently used paths such as <code>/META-INF</code> or <code>/WEB-INF/lib</code> may be
+ * returned as shared instances.
  *
  * @author <a href="mailto:aslak@conduct.no">Aslak Knutsen</a>
  * @author <a href="mailto:alr@jboss.org">Andrew Lee Rubinger</a>
@@ -30,16 +39,52 @@ public final class ArchivePaths {
 
     private static final String PATH_IMPL = "org.jboss.shrinkwrap.impl.base.path.BasicPath";
 
-    private static final Class<?> archivePathImplClass;
+    /**
+     * Constructors of the path implementation, bound once so that creating a path costs no reflective lookup
+     */
+    private static final MethodHandle CTOR_STRING;
+    private static final MethodHandle CTOR_STRING_STRING;
+    private static final MethodHandle CTOR_STRING_PATH;
+    private static final MethodHandle CTOR_PATH_STRING;
+    private static final MethodHandle CTOR_PATH_PATH;
+
+    /**
+     * Shared instances of frequently used paths, keyed by each context they may be created from; read-only once
+     * initialized
+     */
+    private static final Map<String, ArchivePath> INTERNED = new HashMap<>();
+
+    /**
+     * Contexts of the paths held in {@link ArchivePaths#INTERNED}
+     */
+    private static final String[] INTERNED_CONTEXTS = { "/", "/META-INF", "/META-INF/services",
+        "/META-INF/MANIFEST.MF", "/WEB-INF", "/WEB-INF/classes", "/WEB-INF/lib", "/lib" };
+
     static {
         final Collection<ClassLoader> searchClassLoaders = new ArrayList<>();
         searchClassLoaders.add(ArchivePaths.class.getClassLoader());
+        final Class<?> archivePathImplClass;
         try {
             archivePathImplClass = ClassLoaderSearchUtil.findClassFromClassLoaders(PATH_IMPL, searchClassLoaders);
         } catch (final ClassNotFoundException cnfe) {
             throw new IllegalStateException("Could not find the archive path implementation class " + PATH_IMPL
                 + " in any configured ClassLoader", cnfe);
         }
+        try {
+            CTOR_STRING = findConstructor(archivePathImplClass, String.class);
+            CTOR_STRING_STRING = findConstructor(archivePathImplClass, String.class, String.class);
+            CTOR_STRING_PATH = findConstructor(archivePathImplClass, String.class, ArchivePath.class);
+            CTOR_PATH_STRING = findConstructor(archivePathImplClass, ArchivePath.class, String.class);
+            CTOR_PATH_PATH = findConstructor(archivePathImplClass, ArchivePath.class, ArchivePath.class);
+        } catch (final NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException("Could not bind the constructors of the archive path implementation class "
+                + PATH_IMPL, e);
+        }
+        for (final String context : INTERNED_CONTEXTS) {
+            final ArchivePath path = newInstance(context);
+            INTERNED.put(context, path);
+            INTERNED.put(context.substring(1), path);
+        }
     }
 
     /**
@@ -60,7 +105,13 @@ public final class ArchivePaths {
      * @return a new path
      */
     public static ArchivePath create(String context) {
-        return createInstance(new Class<?>[] { String.class }, new Object[] { context });
+        if (context != null) {
+            final ArchivePath interned = INTERNED.get(context);
+            if (interned != null) {
+                return interned;
+            }
+        }
+        return newInstance(context);
     }
 
     /**
@@ -73,7 +124,11 @@ public final class ArchivePaths {
      * @return a new path
      */
     public static ArchivePath create(String basePath, String context) {
-        return createInstance(new Class<?>[] { String.class, String.class }, new Object[] { basePath, context });
+        try {
+            return (ArchivePath) CTOR_STRING_STRING.invokeExact(basePath, context);
+        } catch (final Throwable t) {
+            throw creationFailure(t, basePath, context);
+        }
     }
 
     /**
@@ -86,7 +141,11 @@ public final class ArchivePaths {
      * @return a new path
      */
     public static ArchivePath create(final String basePath, final ArchivePath context) {
-        return createInstance(new Class<?>[] { String.class, ArchivePath.class }, new Object[] { basePath, context });
+        try {
+            return (ArchivePath) CTOR_STRING_PATH.invokeExact(basePath, context);
+        } catch (final Throwable t) {
+            throw creationFailure(t, basePath, context);
+        }
     }
 
     /**
@@ -99,7 +158,11 @@ public final class ArchivePaths {
      * @return a new path
      */
     public static ArchivePath create(ArchivePath basePath, String context) {
-        return createInstance(new Class<?>[] { ArchivePath.class, String.class }, new Object[] { basePath, context });
+        try {
+            return (ArchivePath) CTOR_PATH_STRING.invokeExact(basePath, context);
+        } catch (final Throwable t) {
+            throw creationFailure(t, basePath, context);
+        }
     }
 
     /**
@@ -112,17 +175,41 @@ public final class ArchivePaths {
      * @return a new path
      */
     public static ArchivePath create(ArchivePath basePath, ArchivePath context) {
-        return createInstance(new Class<?>[] { ArchivePath.class, ArchivePath.class },
-            new Object[] { basePath, context });
+        try {
+            return (ArchivePath) CTOR_PATH_PATH.invokeExact(basePath, context);
+        } catch (final Throwable t) {
+            throw creationFailure(t, basePath, context);
+        }
     }
 
     // -------------------------------------------------------------------------------------||
     // Class Members - Internal Helpers ---------------------------------------------------||
     // -------------------------------------------------------------------------------------||
 
-    private static ArchivePath createInstance(final Class<?>[] argumentTypes, final Object[] arguments) {
-        // Create and return
-        return SecurityActions.newInstance(archivePathImplClass, argumentTypes, arguments, ArchivePath.class);
+    private static ArchivePath newInstance(final String context) {
+        try {
+            return (ArchivePath) CTOR_STRING.invokeExact(context);
+        } catch (final Throwable t) {
+            throw creationFailure(t, context);
+        }
+    }
+
+    private static MethodHandle findConstructor(final Class<?> implClass, final Class<?>... argumentTypes)
+        throws NoSuchMethodException, IllegalAccessException {
+        return MethodHandles.publicLookup().findConstructor(implClass, MethodType.methodType(void.class, argumentTypes))
+            .asType(MethodType.methodType(ArchivePath.class, argumentTypes));
+    }
+
+    /**
+     * Obtains the exception to be thrown when the path implementation failed to create a path from the specified
+     * arguments; errors are rethrown as is
+     */
+    private static RuntimeException creationFailure(final Throwable cause, final Object... arguments) {
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new RuntimeException("Could not create a new instance of " + PATH_IMPL + " using arguments "
+            + Arrays.asList(arguments), cause);
     }
 
     /**
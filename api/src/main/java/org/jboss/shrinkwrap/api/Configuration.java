@@ -48,10 +48,8 @@ public class Configuration {
     private final ExtensionLoader extensionLoader;
 
     /**
-     * {@link ExecutorService} used for all asynchronous operations
-     * @deprecated No longer used by the implementation, will be removed in SW 2.0
+     * {@link ExecutorService} used for all asynchronous operations; may be null
      */
-    @Deprecated
     private final ExecutorService executorService;
 
     /**
@@ -59,6 +57,16 @@ public class Configuration {
      */
     private final Iterable<ClassLoader> classLoaders;
 
+    /**
+     * Number of bytes of content buffered in memory before spilling to a temporary file; may be null
+     */
+    private final Long diskBufferThreshold;
+
+    /**
+     * Whether ZIP files are imported by memory-mapping them
+     */
+    private final boolean memoryMappedImport;
+
     // -------------------------------------------------------------------------------------||
     // Constructor ------------------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
@@ -83,6 +91,8 @@ public class Configuration {
         // Set
         this.extensionLoader = builder.getExtensionLoader();
         this.executorService = builder.getExecutorService();
+        this.diskBufferThreshold = builder.getDiskBufferThreshold();
+        this.memoryMappedImport = builder.isMemoryMappedImport();
         // Defensive copy
         Collection<ClassLoader> cls = new ArrayList<>();
         if (builder.getClassLoaders() instanceof Collection) {
@@ -107,14 +117,29 @@ public class Configuration {
     }
 
     /**
-     * @return the executorService
-     * @deprecated No longer used by the implementation, will be removed in SW 2.0
+     * @return the executorService, or null if none was configured; when present, ZIP exports compress their entries
+     *         concurrently on it
      */
-    @Deprecated
     public ExecutorService getExecutorService() {
         return executorService;
     }
 
+    /**
+     * @return The number of bytes of content of unknown size buffered in memory, when importing or exporting, before
+     *         spilling to a temporary file; or null if each component should apply its own default
+     */
+    public Long getDiskBufferThreshold() {
+        return diskBufferThreshold;
+    }
+
+    /**
+     * @return Whether ZIP files, including streams spilled to a temporary file, are imported by memory-mapping them
+     *         rather than through {@link java.util.zip.ZipFile}
+     */
+    public boolean isMemoryMappedImport() {
+        return memoryMappedImport;
+    }
+
     /**
      * @return The {@link ClassLoader}s to be used in this configuration; used in extension loading and adding CL
      *         resources to the archive, etc
@@ -28,8 +28,11 @@ import java.util.logging.Logger;
  * specified (null) according to the following:
  *
  * <ul>
- * <li><code>executorService</code> - Stay null, none is required and ShrinkWrap will create its own and destroy it when
- * done as needed</li>
+ * <li><code>executorService</code> - Stay null, none is required; if one is provided, ZIP exports will use it to
+ * compress entries concurrently. ShrinkWrap never shuts it down.</li>
+ * <li><code>diskBufferThreshold</code> - Stay null; each component buffering content of unknown size applies its own
+ * default before spilling to a temporary file</li>
+ * <li><code>memoryMappedImport</code> - False; ZIP files are imported through {@link java.util.zip.ZipFile}</li>
  * <li><code>extensionLoader</code> - A new instance of the service extension loader from shrinkwrap-impl</li>
  * </ul>
  *
@@ -74,6 +77,16 @@ public class ConfigurationBuilder {
      */
     private Iterable<ClassLoader> classLoaders;
 
+    /**
+     * Number of bytes of content buffered in memory before spilling to a temporary file
+     */
+    private Long diskBufferThreshold;
+
+    /**
+     * Whether ZIP files are imported by memory-mapping them
+     */
+    private boolean memoryMappedImport;
+
     // -------------------------------------------------------------------------------------||
     // Constructor ------------------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
@@ -110,6 +123,20 @@ public class ConfigurationBuilder {
         return classLoaders;
     }
 
+    /**
+     * @return the diskBufferThreshold, in bytes
+     */
+    public Long getDiskBufferThreshold() {
+        return diskBufferThreshold;
+    }
+
+    /**
+     * @return whether ZIP files are imported by memory-mapping them
+     */
+    public boolean isMemoryMappedImport() {
+        return memoryMappedImport;
+    }
+
     /**
      * Sets the {@link ExtensionLoader} to be used, returning this instance
      *
@@ -147,6 +174,39 @@ public class ConfigurationBuilder {
         return this;
     }
 
+    /**
+     * Sets the number of bytes of content buffered in memory, when importing or exporting content of unknown size,
+     * before spilling to a temporary file; returning this instance. Components keeping content in memory as a single
+     * array cap the threshold at the maximum array length.
+     *
+     * @param diskBufferThreshold
+     *             The threshold in bytes, or null to use each component's default
+     * @return the current instance of {@link ConfigurationBuilder}
+     * @throws IllegalArgumentException
+     *             If the threshold is negative
+     */
+    public ConfigurationBuilder diskBufferThreshold(final Long diskBufferThreshold) throws IllegalArgumentException {
+        if (diskBufferThreshold != null && diskBufferThreshold < 0) {
+            throw new IllegalArgumentException("diskBufferThreshold must not be negative");
+        }
+        this.diskBufferThreshold = diskBufferThreshold;
+        return this;
+    }
+
+    /**
+     * Sets whether ZIP files, including streams spilled to a temporary file, are imported by memory-mapping them
+     * rather than through {@link java.util.zip.ZipFile}; returning this instance. Mapped files may not be deleted on
+     * some platforms until the mapping is reclaimed.
+     *
+     * @param memoryMappedImport
+     *             Whether to import ZIP files by memory-mapping them
+     * @return the current instance of {@link ConfigurationBuilder}
+     */
+    public ConfigurationBuilder memoryMappedImport(final boolean memoryMappedImport) {
+        this.memoryMappedImport = memoryMappedImport;
+        return this;
+    }
+
     /**
      * Builds a new {@link Configuration} using the properties contained in this builder. In the case a property has not
      * been specified, it will be defaulted according to the rules set forth in this {@link ConfigurationBuilder}'s
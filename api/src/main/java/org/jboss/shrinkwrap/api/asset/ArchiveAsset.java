@@ -96,4 +96,11 @@ public class ArchiveAsset implements Asset {
         return archive;
     }
 
+    /**
+     * Returns the exporter used to export the archive this asset represents
+     */
+    public Class<? extends StreamExporter> getExporter() {
+        return exporter;
+    }
+
 }
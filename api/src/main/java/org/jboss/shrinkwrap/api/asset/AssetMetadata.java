@@ -0,0 +1,58 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.api.asset;
+
+/**
+ * Optional view of an {@link Asset} describing its content without reading it. Exporters and other consumers may use
+ * this information to stream content straight through instead of buffering it; any value not known in advance is
+ * reported as {@link AssetMetadata#UNKNOWN}.
+ * <p>
+ * Values describe the content the next {@link Asset#openStream()} call will provide; for mutable assets, they are only
+ * valid as long as the content does not change.
+ */
+public interface AssetMetadata {
+
+    /**
+     * Value returned for any property which is not known in advance
+     */
+    long UNKNOWN = -1L;
+
+    /**
+     * Obtains the number of bytes of the content.
+     *
+     * @return The length of the content in bytes, or {@link AssetMetadata#UNKNOWN}
+     */
+    long getContentLength();
+
+    /**
+     * Obtains the CRC-32 checksum of the content.
+     *
+     * @return The CRC-32 of the content, or {@link AssetMetadata#UNKNOWN}
+     */
+    default long getContentCrc() {
+        return UNKNOWN;
+    }
+
+    /**
+     * Obtains the time the content was last modified.
+     *
+     * @return The last modification time in milliseconds since the epoch, or {@link AssetMetadata#UNKNOWN}
+     */
+    default long getLastModified() {
+        return UNKNOWN;
+    }
+}
@@ -27,7 +27,7 @@ import java.util.logging.Logger;
  * @author <a href="mailto:andrew.rubinger@jboss.org">ALR</a>
  * @version $Revision: $
  */
-public class ByteArrayAsset implements Asset {
+public class ByteArrayAsset implements Asset, AssetMetadata {
 
     // -------------------------------------------------------------------------------------||
     // Class Members ----------------------------------------------------------------------||
@@ -60,34 +60,71 @@ public class ByteArrayAsset implements Asset {
      *             If the contents were not specified
      */
     public ByteArrayAsset(final byte[] content) throws IllegalArgumentException {
+        // Defensive copy on set, SHRINKWRAP-38
+        this(content, true);
+    }
+
+    /**
+     * Creates a new {@link Asset} instance backed by the bytes contained in the specified {@link InputStream}
+     *
+     * @param stream
+     *            The {@link InputStream} to read bytes from
+     * @throws IllegalArgumentException
+     *             If the stream is not specified
+     */
+    public ByteArrayAsset(final InputStream stream) {
+        // Delegate; the array is freshly read, so it need not be copied
+        this(ByteArrayIOUtil.asByteArray(stream), false);
+    }
+
+    /**
+     * Creates a new {@link Asset} instance backed by the specified byte array, optionally copying it
+     *
+     * @param content
+     *            The byte array that will be used as the data source for the new {@link ByteArrayAsset}
+     * @param copy
+     *            Whether to make a defensive copy of the array
+     * @throws IllegalArgumentException
+     *             If the contents were not specified
+     */
+    private ByteArrayAsset(final byte[] content, final boolean copy) throws IllegalArgumentException {
         // Precondition check
         if (content == null) {
             throw new IllegalArgumentException("content must be specified");
         }
 
-        // Defensive copy on set, SHRINKWRAP-38
-        final int length = content.length;
-        byte[] newArray = new byte[length];
-        System.arraycopy(content, 0, newArray, 0, length);
-
         // Set
-        this.content = newArray;
+        final int length = content.length;
+        if (copy) {
+            final byte[] newArray = new byte[length];
+            System.arraycopy(content, 0, newArray, 0, length);
+            this.content = newArray;
+        } else {
+            this.content = content;
+        }
         if (log.isLoggable(Level.FINER)) {
             log.finer("Created " + this + " with backing byte array of size " + length + "b");
         }
     }
 
+    // -------------------------------------------------------------------------------------||
+    // Factories --------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
     /**
-     * Creates a new {@link Asset} instance backed by the bytes contained in the specified {@link InputStream}
+     * Creates a new {@link Asset} instance backed by the specified byte array itself, without the defensive copy made
+     * by {@link ByteArrayAsset#ByteArrayAsset(byte[])}. Ownership of the array is transferred to the asset: the caller
+     * must not modify it afterwards. Intended for arrays freshly allocated by the caller, such as the result of
+     * {@link java.io.ByteArrayOutputStream#toByteArray()}.
      *
-     * @param stream
-     *            The {@link InputStream} to read bytes from
+     * @param content
+     *            The byte array that will be used as the data source for the new {@link ByteArrayAsset}
+     * @return The new asset
      * @throws IllegalArgumentException
-     *             If the stream is not specified
+     *             If the contents were not specified
      */
-    public ByteArrayAsset(final InputStream stream) {
-        // Delegate
-        this(ByteArrayIOUtil.asByteArray(stream));
+    public static ByteArrayAsset wrap(final byte[] content) throws IllegalArgumentException {
+        return new ByteArrayAsset(content, false);
     }
 
     // -------------------------------------------------------------------------------------||
@@ -102,6 +139,16 @@ public class ByteArrayAsset implements Asset {
         return new ByteArrayInputStream(this.content);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.asset.AssetMetadata#getContentLength()
+     */
+    @Override
+    public long getContentLength() {
+        return this.content.length;
+    }
+
     /**
      * Returns the underlying content.
      *
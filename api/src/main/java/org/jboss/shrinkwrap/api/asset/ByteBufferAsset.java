@@ -0,0 +1,128 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.api.asset;
+
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * Implementation of an {@link Asset} backed by a read-only view of a {@link ByteBuffer}. The content is shared with
+ * the buffer rather than copied, so heap, direct and memory-mapped buffers may all be handed over as they are; the
+ * creator must not modify the content afterwards.
+ */
+public class ByteBufferAsset implements Asset, AssetMetadata {
+
+    /**
+     * Read-only view of the content, from position 0 to the limit
+     */
+    private final ByteBuffer content;
+
+    /**
+     * Creates a new {@link Asset} instance sharing the remaining content of the specified buffer, from its position to
+     * its limit. The position and limit of the specified buffer are not changed.
+     *
+     * @param content
+     *            The buffer holding the content
+     * @throws IllegalArgumentException
+     *             If the content was not specified
+     */
+    public ByteBufferAsset(final ByteBuffer content) throws IllegalArgumentException {
+        if (content == null) {
+            throw new IllegalArgumentException("content must be specified");
+        }
+        this.content = content.slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * @see org.jboss.shrinkwrap.api.asset.Asset#openStream()
+     */
+    @Override
+    public InputStream openStream() {
+        return new ByteBufferInputStream(content.duplicate());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.asset.AssetMetadata#getContentLength()
+     */
+    @Override
+    public long getContentLength() {
+        return content.limit();
+    }
+
+    /**
+     * Returns a new read-only view of the content, positioned at its start.
+     */
+    public ByteBuffer getSource() {
+        return content.duplicate();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return ByteBufferAsset.class.getSimpleName() + " [content size=" + content.limit() + "bytes]";
+    }
+
+    /**
+     * {@link InputStream} reading the remaining content of a {@link ByteBuffer}
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public long skip(final long n) {
+            final int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            // Cast keeps the bytecode compatible with Java 8 runtimes
+            ((Buffer) buffer).position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -25,7 +25,7 @@ import java.io.InputStream;
  * @author <a href="mailto:dan.j.allen@gmail.com">Dan Allen</a>
  * @version $Revision: $
  */
-public enum EmptyAsset implements Asset {
+public enum EmptyAsset implements Asset, AssetMetadata {
     INSTANCE;
 
     /**
@@ -45,6 +45,27 @@ public enum EmptyAsset implements Asset {
         return new ByteArrayInputStream(content);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.asset.AssetMetadata#getContentLength()
+     */
+    @Override
+    public long getContentLength() {
+        return 0L;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.asset.AssetMetadata#getContentCrc()
+     */
+    @Override
+    public long getContentCrc() {
+        // CRC-32 of no bytes
+        return 0L;
+    }
+
     /**
      * Returns the underlying content.
      *
@@ -27,7 +27,7 @@ import java.io.InputStream;
  *
  * @author <a href="mailto:aslak@conduct.no">Aslak Knutsen</a>
  */
-public class FileAsset implements Asset {
+public class FileAsset implements Asset, AssetMetadata {
     private final File file;
 
     /**
@@ -69,6 +69,27 @@ public class FileAsset implements Asset {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.asset.AssetMetadata#getContentLength()
+     */
+    @Override
+    public long getContentLength() {
+        return file.isFile() ? file.length() : UNKNOWN;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.asset.AssetMetadata#getLastModified()
+     */
+    @Override
+    public long getLastModified() {
+        final long lastModified = file.lastModified();
+        return lastModified == 0L ? UNKNOWN : lastModified;
+    }
+
     /**
      * Returns the loaded file.
      *
@@ -30,7 +30,7 @@ import org.jboss.shrinkwrap.api.nio2.file.SeekableInMemoryByteChannel;
  *
  * @author <a href="mailto:alr@jboss.org">Andrew Lee Rubinger</a>
  */
-public class MemoryAsset implements Asset, SeekableByteChannel {
+public class MemoryAsset implements Asset, AssetMetadata, SeekableByteChannel {
 
     private final SeekableInMemoryByteChannel delegate;
 
@@ -144,6 +144,27 @@ public class MemoryAsset implements Asset, SeekableByteChannel {
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.asset.AssetMetadata#getContentLength()
+     */
+    @Override
+    public long getContentLength() {
+        return delegate.size();
+    }
+
+    /**
+     * Obtains a read-only view of the content of this asset, sharing rather than copying it. Content written to this
+     * asset afterwards is not reflected in the view.
+     *
+     * @return A read-only {@link ByteBuffer} over the current content, positioned at its start
+     * @see SeekableInMemoryByteChannel#asReadOnlyBuffer()
+     */
+    public ByteBuffer asReadOnlyBuffer() {
+        return delegate.asReadOnlyBuffer();
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -27,7 +27,7 @@ import java.util.logging.Logger;
  * @author <a href="mailto:dan.j.allen@gmail.com">Dan Allen</a>
  * @version $Revision: $
  */
-public class StringAsset implements Asset {
+public class StringAsset implements Asset, AssetMetadata {
     // -------------------------------------------------------------------------------------||
     // Class Members ----------------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
@@ -46,6 +46,11 @@ public class StringAsset implements Asset {
      */
     private final String content;
 
+    /**
+     * Underlying content, encoded once as it is immutable; never modified, as streams only read it.
+     */
+    private final byte[] bytes;
+
     // -------------------------------------------------------------------------------------||
     // Constructor ------------------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
@@ -65,6 +70,7 @@ public class StringAsset implements Asset {
         }
         // don't need to copy since String is immutable
         this.content = content;
+        this.bytes = content.getBytes();
         if (log.isLoggable(Level.FINER)) {
             log.finer("Created " + this + " with backing String of size " + content.length() + "b");
         }
@@ -80,7 +86,17 @@ public class StringAsset implements Asset {
 
     @Override
     public InputStream openStream() {
-        return new ByteArrayInputStream(content.getBytes());
+        return new ByteArrayInputStream(bytes);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.asset.AssetMetadata#getContentLength()
+     */
+    @Override
+    public long getContentLength() {
+        return bytes.length;
     }
 
     /**
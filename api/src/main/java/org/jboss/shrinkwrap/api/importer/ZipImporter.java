@@ -25,6 +25,11 @@ import org.jboss.shrinkwrap.api.Assignable;
 
 /**
  * {@link Assignable} type capable of importing ZIP content.
+ * <p>
+ * Entries are read from their source on demand rather than copied at import time. Entries imported from a stream
+ * share a single in-memory copy of it (or of a temporary file, for large streams), which is retained as long as any of
+ * them is reachable, even once the other entries are removed from the archive; when a filter selects only a small part
+ * of the stream, the selected entries are copied out of it instead.
  *
  * @author <a href="mailto:aslak@conduct.no">Aslak Knutsen</a>
  * @version $Revision: $
@@ -23,15 +23,23 @@ import java.nio.ByteBuffer;
 import java.nio.channels.Channel;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SeekableByteChannel;
+import java.util.Arrays;
 
 /**
  * {@link SeekableByteChannel} implementation backed by an auto-resizing byte array; thread-safe. Can hold a maximum of
- * {@link Integer#MAX_VALUE} bytes.
+ * {@link Integer#MAX_VALUE} bytes. The array grows by doubling its capacity, so that appends and truncation take
+ * amortized constant time per byte; streams and buffers obtained over the contents share the array until the next
+ * write which would change them, which then copies it.
  *
  * @author <a href="mailto:alr@jboss.org">Andrew Lee Rubinger</a>
  */
 public class SeekableInMemoryByteChannel implements SeekableByteChannel {
 
+    /**
+     * Largest capacity the array is grown to by doubling; some VMs reserve header words in an array
+     */
+    private static final int MAX_GROWN_CAPACITY = Integer.MAX_VALUE - 8;
+
     /**
      * Current position; guarded by "this"
      */
@@ -44,10 +52,21 @@ public class SeekableInMemoryByteChannel implements SeekableByteChannel {
     private volatile boolean open;
 
     /**
-     * Internal buffer for contents; guarded by "this"
+     * Internal buffer for contents, valid up to {@link SeekableInMemoryByteChannel#size}; guarded by "this"
      */
     private byte[] contents;
 
+    /**
+     * Number of bytes of contents; guarded by "this"
+     */
+    private int size;
+
+    /**
+     * Number of leading bytes of {@link SeekableInMemoryByteChannel#contents} shared with streams or buffers handed
+     * out, which must not be modified in place; guarded by "this"
+     */
+    private int shared;
+
     /**
      * Creates a new instance with 0 size and 0 position, and open.
      */
@@ -101,7 +120,7 @@ public class SeekableInMemoryByteChannel implements SeekableByteChannel {
 
         // Sync up before getting at shared mutable state
         synchronized (this) {
-            numBytesRemainingInContent = this.contents.length - this.position;
+            numBytesRemainingInContent = this.size - this.position;
 
             // Set position was greater than the size? Just return.
             if (numBytesRemainingInContent <= 0) {
@@ -136,20 +155,30 @@ public class SeekableInMemoryByteChannel implements SeekableByteChannel {
             throw new IllegalArgumentException("Source buffer must be supplied");
         }
 
-        // Put the bytes to be written into a byte[]
         final int totalBytes = source.remaining();
-        final byte[] readContents = new byte[totalBytes];
-        source.get(readContents);
 
         // Sync up, we're going to access shared mutable state
         synchronized (this) {
+            final long end = (long) this.position + totalBytes;
+            if (end > Integer.MAX_VALUE) {
+                throw new IOException("Writing " + totalBytes + " bytes at position " + this.position
+                    + " would exceed the maximum size of " + Integer.MAX_VALUE);
+            }
 
-            // Append the read contents to our internal contents
-            this.contents = this.concat(this.contents, readContents, this.position);
+            // A gap between the current size and the position is part of the write, to be filled with 0x00
+            this.ensureWritable(Math.min(this.position, this.size), (int) end);
+            if (this.position > this.size) {
+                Arrays.fill(this.contents, this.size, this.position, (byte) 0);
+            }
 
-            // Increment the position of this channel
-            this.position += totalBytes;
+            // Copy the bytes straight into our internal contents
+            source.get(this.contents, this.position, totalBytes);
 
+            // Increment the position of this channel
+            this.position = (int) end;
+            if (this.position > this.size) {
+                this.size = this.position;
+            }
         }
 
         // Return the number of bytes read
@@ -157,31 +186,26 @@ public class SeekableInMemoryByteChannel implements SeekableByteChannel {
     }
 
     /**
-     * Creates a new array which is the concatenated result of the two inputs, at the designated position (to be filled
-     * with 0x00) in the case of a gap.
+     * Ensures the bytes from the specified start to the specified end of the contents may be written in place, growing
+     * the array if it is too small, and copying it if any of these bytes are shared. Must be called holding the lock.
      *
-     * @param input1
-     *         The first byte array to be concatenated
-     * @param input2
-     *         The second byte array to be concatenated
-     * @param position
-     *         The position at which to insert the second byte array into the result array
-     * @return
-     *         A new byte array containing `input1` followed by `input2` at the specified position.
+     * @param start
+     *         The index of the first byte to be written
+     * @param end
+     *         The index after the last byte to be written
      */
-    private byte[] concat(final byte[] input1, final byte[] input2, final int position) {
-        // Precondition checks
-        assert input1 != null : "Input 1 must be specified";
-        assert input2 != null : "Input 2 must be specified";
-        assert position >= 0 : "Position must be 0 or higher";
-        // Allocate a new array of enough space (either current size or position + input2.length, whichever is greater)
-        final int newSize = position < input1.length ? input1.length + input2.length : position + input2.length;
-        final byte[] merged = new byte[newSize];
-        // Copy in the contents of input 1 with 0 offset
-        System.arraycopy(input1, 0, merged, 0, input1.length);
-        // Copy in the contents of input2 with offset the length of input 1
-        System.arraycopy(input2, 0, merged, position, input2.length);
-        return merged;
+    private void ensureWritable(final int start, final int end) {
+        assert Thread.holdsLock(this) : "Lock must be held";
+        if (end <= this.contents.length && start >= this.shared) {
+            return;
+        }
+        int capacity = this.contents.length;
+        if (end > capacity) {
+            // Double to amortize the copying, unless even that is not enough
+            capacity = Math.max(end, (int) Math.min(capacity * 2L, MAX_GROWN_CAPACITY));
+        }
+        this.contents = Arrays.copyOf(this.contents, capacity);
+        this.shared = 0;
     }
 
     /**
@@ -221,7 +245,7 @@ public class SeekableInMemoryByteChannel implements SeekableByteChannel {
     @Override
     public long size() {
         synchronized (this) {
-            return this.contents.length;
+            return this.size;
         }
     }
 
@@ -243,21 +267,20 @@ public class SeekableInMemoryByteChannel implements SeekableByteChannel {
         synchronized (this) {
 
             final int newSize = (int) size;
-            final int currentSize = (int) this.size();
 
             // If the current position is greater than the given size, set to the given size (by API spec)
             if (this.position > newSize) {
                 this.position = newSize;
             }
 
-            // If we've been given a size smaller than we currently are
-            if (currentSize > newSize) {
-                // Make new array
-                final byte[] newContents = new byte[newSize];
-                // Copy in the contents up to the new size
-                System.arraycopy(this.contents, 0, newContents, 0, newSize);
-                // Set the new array as our contents
-                this.contents = newContents;
+            // If we've been given a size smaller than we currently are, drop the bytes beyond it; the capacity is
+            // kept for later writes unless most of it would go unused
+            if (this.size > newSize) {
+                this.size = newSize;
+                if (newSize < this.contents.length / 4) {
+                    this.contents = Arrays.copyOf(this.contents, newSize);
+                    this.shared = 0;
+                }
             }
 
             // If we've been given a size greater than or equal to us then do nothing
@@ -271,16 +294,28 @@ public class SeekableInMemoryByteChannel implements SeekableByteChannel {
     }
 
     /**
-     * Obtain a copy of the contents of this {@link Channel} as an {@link InputStream}
+     * Obtain a snapshot of the contents of this {@link Channel} as an {@link InputStream}; content written to this
+     * {@link Channel} afterwards is not reflected in the stream.
      */
     public InputStream getContents() {
-        final byte[] copy;
         synchronized (this) {
-            final int length = this.contents.length;
-            copy = new byte[length];
-            System.arraycopy(this.contents, 0, copy, 0, this.contents.length);
+            this.shared = Math.max(this.shared, this.size);
+            return new ByteArrayInputStream(this.contents, 0, this.size);
+        }
+    }
+
+    /**
+     * Obtains a read-only view of the contents of this {@link Channel}, sharing rather than copying them. Content
+     * written to this {@link Channel} afterwards is not reflected in the view.
+     *
+     * @return A read-only {@link ByteBuffer} over the current contents, positioned at its start
+     */
+    public ByteBuffer asReadOnlyBuffer() {
+        synchronized (this) {
+            // Writes copy the array before modifying any of the bytes shared here
+            this.shared = Math.max(this.shared, this.size);
+            return ByteBuffer.wrap(this.contents, 0, this.size).slice().asReadOnlyBuffer();
         }
-        return new ByteArrayInputStream(copy);
     }
 
     /**
@@ -111,4 +111,25 @@ public class ByteArrayAssetTestCase {
             Assertions.assertEquals(i, contentFromGetSource[i], "getSource() did not equal passed in contents");
         }
     }
+
+    @Test
+    public void shouldReportContentLength() {
+        final ByteArrayAsset asset = new ByteArrayAsset(new byte[] { 1, 2, 3 });
+
+        Assertions.assertEquals(3, asset.getContentLength());
+        Assertions.assertEquals(AssetMetadata.UNKNOWN, asset.getContentCrc());
+    }
+
+    /**
+     * Ensures that a wrapped array is used as is, without a defensive copy
+     */
+    @Test
+    public void shouldShareWrappedArray() {
+        final byte[] contents = new byte[] { 1, 2, 3 };
+
+        final ByteArrayAsset asset = ByteArrayAsset.wrap(contents);
+
+        Assertions.assertSame(contents, asset.getSource(), "Wrapped array should not be copied");
+        Assertions.assertEquals(3, asset.getContentLength());
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.api.asset;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test Cases for the {@link ByteBufferAsset}
+ */
+public class ByteBufferAssetTestCase {
+
+    /**
+     * Ensures that the asset exposes the remaining content of the buffer, as many times as it is opened
+     */
+    @Test
+    public void shouldReadRemainingContent() throws Exception {
+        final ByteBuffer buffer = ByteBuffer.wrap(new byte[] { 0, 1, 2, 3, 4, 5 });
+        buffer.position(2);
+        buffer.limit(5);
+
+        final ByteBufferAsset asset = new ByteBufferAsset(buffer);
+
+        Assertions.assertEquals(3, asset.getContentLength());
+        for (int i = 0; i < 2; i++) {
+            try (InputStream in = asset.openStream()) {
+                Assertions.assertArrayEquals(new byte[] { 2, 3, 4 }, ByteArrayIOUtil.asByteArray(in));
+            }
+        }
+        Assertions.assertEquals(2, buffer.position(), "Position of the source buffer should not change");
+    }
+
+    /**
+     * Ensures that the content is shared with the buffer, not copied, and can not be modified through the asset
+     */
+    @Test
+    public void shouldShareContentReadOnly() {
+        final byte[] array = new byte[] { 1, 2, 3 };
+        final ByteBufferAsset asset = new ByteBufferAsset(ByteBuffer.wrap(array));
+
+        array[0] = 9;
+        final ByteBuffer source = asset.getSource();
+        Assertions.assertEquals(9, source.get(0), "Content should be shared with the buffer");
+        Assertions.assertThrows(ReadOnlyBufferException.class, () -> source.put(0, (byte) 1));
+    }
+}
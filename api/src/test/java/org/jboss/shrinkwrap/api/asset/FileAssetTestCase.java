@@ -65,4 +65,13 @@ public class FileAssetTestCase {
 
         Assertions.assertEquals(exitingFile, asset.getSource());
     }
+
+    @Test
+    public void shouldReportContentLengthAndLastModified() {
+        final File existingFile = new File(EXISTING_FILE);
+        final FileAsset asset = new FileAsset(existingFile);
+
+        Assertions.assertEquals(existingFile.length(), asset.getContentLength());
+        Assertions.assertEquals(existingFile.lastModified(), asset.getLastModified());
+    }
 }
@@ -80,4 +80,12 @@ public class StringAssetTestCase {
 
         Assertions.assertEquals(contents, asset.getSource());
     }
+
+    @Test
+    public void shouldReportContentLength() {
+        final String contents = StringAsset.class.getSimpleName();
+        final StringAsset asset = new StringAsset(contents);
+
+        Assertions.assertEquals(contents.getBytes().length, asset.getContentLength());
+    }
 }
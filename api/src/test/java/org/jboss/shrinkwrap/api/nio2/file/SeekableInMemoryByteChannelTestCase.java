@@ -23,6 +23,7 @@ import org.junit.jupiter.api.Test;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
@@ -232,4 +233,48 @@ public class SeekableInMemoryByteChannelTestCase {
                 "Channel should report unchanged position after truncate to bigger value");
     }
 
+    @Test
+    public void writeInChunksGrowsContents() throws IOException {
+        final byte[] chunk = CONTENTS_SMALLER_BUFFER.getBytes(StandardCharsets.UTF_8);
+        final int chunks = 1000;
+        for (int i = 0; i < chunks; i++) {
+            this.channel.write(ByteBuffer.wrap(chunk));
+        }
+        Assertions.assertEquals((long) chunk.length * chunks, this.channel.size(), "Channel should hold all chunks");
+        final ByteBuffer read = ByteBuffer.allocate(chunk.length);
+        this.channel.position((long) chunk.length * (chunks - 1));
+        this.channel.read(read);
+        Assertions.assertArrayEquals(chunk, read.array(), "Last chunk should be read back");
+    }
+
+    @Test
+    public void writeWithPositionPastSizeAfterTruncateFillsGap() throws IOException {
+        this.channel.write(biggerBuffer);
+        this.channel.truncate(2);
+        this.channel.position(4);
+        this.channel.write(ByteBuffer.wrap(new byte[] { 1 }));
+        final ByteBuffer read = ByteBuffer.allocate(5);
+        this.channel.position(0);
+        this.channel.read(read);
+        Assertions.assertArrayEquals(new byte[] { 'A', 'n', 0, 0, 1 }, read.array(),
+            "Bytes dropped by truncate should not reappear in the gap");
+    }
+
+    @Test
+    public void asReadOnlyBufferUnaffectedByLaterWrites() throws IOException {
+        this.channel.write(smallerBuffer);
+        final ByteBuffer view = this.channel.asReadOnlyBuffer();
+        final InputStream stream = this.channel.getContents();
+        this.channel.position(0);
+        this.channel.write(biggerBuffer);
+        final byte[] viewed = new byte[view.remaining()];
+        view.get(viewed);
+        Assertions.assertEquals(CONTENTS_SMALLER_BUFFER, new String(viewed, StandardCharsets.UTF_8),
+            "View should keep the contents at the time it was obtained");
+        final byte[] streamed = new byte[CONTENTS_BIGGER_BUFFER.length()];
+        final int read = stream.read(streamed);
+        Assertions.assertEquals(CONTENTS_SMALLER_BUFFER, new String(streamed, 0, read, StandardCharsets.UTF_8),
+            "Stream should keep the contents at the time it was obtained");
+    }
+
 }
@@ -0,0 +1,251 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import org.jboss.shrinkwrap.impl.base.asset.SharedZipFile;
+
+/**
+ * Process-wide cache of the class entries of the JARs scanned by {@link URLPackageScanner}, so that building many
+ * archives from the same packages reads each JAR only once.
+ * <p>
+ * A JAR is indexed as a whole, by directory, on first use; the index is rebuilt once the modification time or the size
+ * of the JAR changes. Each index holds a {@link SharedZipFile} through which the classes of the JAR are read, which
+ * keeps the JAR open only while its classes are being read. At most {@link #MAX_JARS} indexes are kept, the least
+ * recently used first evicted, and each is softly held so that it is dropped under memory pressure.
+ * <p>
+ * Directories are listed on each use: their modification time is too coarse to tell whether a cached listing is
+ * still current.
+ * <p>
+ * Thread-safe.
+ */
+final class ClassPathIndex {
+
+    private static final String SUFFIX_CLASS = ".class";
+
+    /**
+     * Maximum number of JAR indexes kept
+     */
+    static final int MAX_JARS = 256;
+
+    /**
+     * Indexes of JARs, by absolute path, in access order; guarded by itself
+     */
+    private static final Map<String, SoftReference<JarIndex>> jars = new LinkedHashMap<String, SoftReference<JarIndex>>(
+        16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, SoftReference<JarIndex>> eldest) {
+            return size() > MAX_JARS;
+        }
+    };
+
+    private ClassPathIndex() {
+        throw new UnsupportedOperationException("No instances");
+    }
+
+    /**
+     * Obtains the index of the specified JAR, built on first use and rebuilt once the JAR changes.
+     *
+     * @param jar
+     *            The JAR
+     * @return The index
+     * @throws IOException
+     *             If the JAR could not be read
+     */
+    static JarIndex index(final File jar) throws IOException {
+        final String key = jar.getAbsolutePath();
+        final long lastModified = jar.lastModified();
+        final long length = jar.length();
+        final SoftReference<JarIndex> reference;
+        synchronized (jars) {
+            reference = jars.get(key);
+        }
+        JarIndex index = reference != null ? reference.get() : null;
+        if (index == null || index.lastModified != lastModified || index.length != length) {
+            // Indexed outside of the lock; racing threads may both index the JAR, and either index is valid
+            index = new JarIndex(jar, lastModified, length);
+            synchronized (jars) {
+                jars.put(key, new SoftReference<>(index));
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Drops all JAR indexes. Used by tests.
+     */
+    static void clear() {
+        synchronized (jars) {
+            jars.clear();
+        }
+    }
+
+    /**
+     * Lists the specified directory.
+     *
+     * @param directory
+     *            The directory
+     * @return The listing
+     * @throws UncheckedIOException
+     *             If the directory could not be listed
+     */
+    static DirectoryListing list(final File directory) throws UncheckedIOException {
+        return new DirectoryListing(directory);
+    }
+
+    /**
+     * The class entries of a JAR
+     */
+    static final class JarIndex {
+
+        private final long lastModified;
+
+        private final long length;
+
+        /**
+         * Class entries, by the directory containing them, in the order of the JAR
+         */
+        private final Map<String, List<ZipEntry>> entriesByDirectory = new LinkedHashMap<>();
+
+        /**
+         * The JAR, shared by the assets of all classes read from this index
+         */
+        private final SharedZipFile zipFile;
+
+        private JarIndex(final File jar, final long lastModified, final long length) throws IOException {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.zipFile = new SharedZipFile(jar);
+            try (ZipFile zip = new ZipFile(jar)) {
+                final Enumeration<? extends ZipEntry> entries = zip.entries();
+                while (entries.hasMoreElements()) {
+                    final ZipEntry entry = entries.nextElement();
+                    final String name = entry.getName();
+                    if (name.endsWith(SUFFIX_CLASS)) {
+                        final int slash = name.lastIndexOf('/');
+                        final String directory = slash == -1 ? "" : name.substring(0, slash);
+                        entriesByDirectory.computeIfAbsent(directory, d -> new ArrayList<>()).add(entry);
+                    }
+                }
+            } catch (final ZipException e) {
+                throw new RuntimeException("Error handling file " + jar, e);
+            }
+        }
+
+        /**
+         * Obtains the class entries in the specified directory.
+         *
+         * @param directory
+         *            The directory within the JAR, as {@code org/jboss/shrinkwrap} (a following slash is ignored), or
+         *            empty for the root
+         * @param recursive
+         *            Whether to also include the entries of subdirectories
+         * @return The entries, named as {@code org/jboss/shrinkwrap/Type.class}; they must not be modified
+         */
+        List<ZipEntry> classEntries(String directory, final boolean recursive) {
+            if (directory.endsWith("/")) {
+                directory = directory.substring(0, directory.length() - 1);
+            }
+            if (!recursive) {
+                return entriesByDirectory.getOrDefault(directory, Collections.emptyList());
+            }
+            final String subdirectories = directory.isEmpty() ? "" : directory + "/";
+            final List<ZipEntry> entries = new ArrayList<>();
+            for (final Map.Entry<String, List<ZipEntry>> entry : entriesByDirectory.entrySet()) {
+                if (entry.getKey().equals(directory) || entry.getKey().startsWith(subdirectories)) {
+                    entries.addAll(entry.getValue());
+                }
+            }
+            return entries;
+        }
+
+        /**
+         * @return The JAR, through which the entries are read
+         */
+        SharedZipFile getZipFile() {
+            return zipFile;
+        }
+    }
+
+    /**
+     * The class files and subdirectories of a directory
+     */
+    static final class DirectoryListing {
+
+        private final List<String> classFiles = new ArrayList<>();
+
+        private final List<File> subdirectories = new ArrayList<>();
+
+        private DirectoryListing(final File directory) {
+            // Walks one level deep, telling directories from files by the attributes read by the walk itself;
+            // symbolic links are followed, as File does
+            final Path root = directory.toPath();
+            try {
+                Files.walkFileTree(root, EnumSet.of(FileVisitOption.FOLLOW_LINKS), 1, new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                        final String name = file.getFileName().toString();
+                        if (attrs.isDirectory()) {
+                            subdirectories.add(new File(directory, name));
+                        } else if (name.endsWith(SUFFIX_CLASS)) {
+                            classFiles.add(name);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (final IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        }
+
+        /**
+         * @return The names of the class files, as {@code Type.class}
+         */
+        List<String> getClassFiles() {
+            return classFiles;
+        }
+
+        /**
+         * @return The subdirectories
+         */
+        List<File> getSubdirectories() {
+            return subdirectories;
+        }
+    }
+}
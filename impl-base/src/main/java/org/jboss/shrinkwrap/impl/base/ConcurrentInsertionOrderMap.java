@@ -0,0 +1,297 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/**
+ * Concurrent {@link Map} iterating in insertion order, like a {@link java.util.LinkedHashMap} does: replacing the value
+ * of a key keeps its position, removing and adding it again moves it to the end.
+ * <p>
+ * Keys are looked up in a {@link ConcurrentHashMap}; each mapping is also indexed by an increasing sequence number in a
+ * {@link ConcurrentSkipListMap}, which gives the iteration order. Updates of different keys do not contend on a common
+ * lock, and {@link ConcurrentInsertionOrderMap#compute(Object, BiFunction)} is atomic per key. Iteration never throws
+ * {@link java.util.ConcurrentModificationException}: an iterator returns the mappings added before it was created, as
+ * long as they are not removed meanwhile, so that the map may be added to while being iterated without the iteration
+ * running into the new mappings. Null keys and values are not supported.
+ *
+ * @param <K>
+ *            The type of keys
+ * @param <V>
+ *            The type of values
+ */
+final class ConcurrentInsertionOrderMap<K, V> extends AbstractMap<K, V> {
+
+    /**
+     * Mappings by key
+     */
+    private final ConcurrentHashMap<K, Slot<K, V>> index = new ConcurrentHashMap<>();
+
+    /**
+     * Mappings by sequence number, in insertion order
+     */
+    private final ConcurrentSkipListMap<Long, Slot<K, V>> order = new ConcurrentSkipListMap<>();
+
+    /**
+     * Source of sequence numbers
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Set<Map.Entry<K, V>> entrySet = new EntrySet();
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return index.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return index.containsKey(key);
+    }
+
+    @Override
+    public V get(final Object key) {
+        final Slot<K, V> slot = index.get(key);
+        return slot == null ? null : slot.value;
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        Validate.notNull(value, "value must be specified");
+        final Object[] previous = new Object[1];
+        compute(key, (k, current) -> {
+            previous[0] = current;
+            return value;
+        });
+        @SuppressWarnings("unchecked")
+        final V result = (V) previous[0];
+        return result;
+    }
+
+    @Override
+    public V putIfAbsent(final K key, final V value) {
+        Validate.notNull(value, "value must be specified");
+        final Object[] previous = new Object[1];
+        compute(key, (k, current) -> {
+            previous[0] = current;
+            return current == null ? value : current;
+        });
+        @SuppressWarnings("unchecked")
+        final V result = (V) previous[0];
+        return result;
+    }
+
+    /**
+     * Atomically computes the value of the specified key, as {@link ConcurrentHashMap#compute(Object, BiFunction)}
+     * does; the function must not update this map.
+     */
+    @Override
+    public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        final Slot<K, V> slot = index.compute(key, (k, current) -> {
+            final V value = remappingFunction.apply(k, current == null ? null : current.value);
+            if (value == null) {
+                if (current != null) {
+                    order.remove(current.sequence);
+                }
+                return null;
+            }
+            if (current == null) {
+                final Slot<K, V> created = new Slot<>(k, value, sequence.incrementAndGet());
+                order.put(created.sequence, created);
+                return created;
+            }
+            current.value = value;
+            return current;
+        });
+        return slot == null ? null : slot.value;
+    }
+
+    @Override
+    public V remove(final Object key) {
+        final Slot<K, V> slot = index.remove(key);
+        if (slot == null) {
+            return null;
+        }
+        order.remove(slot.sequence);
+        return slot.value;
+    }
+
+    @Override
+    public boolean remove(final Object key, final Object value) {
+        if (key == null || value == null) {
+            return false;
+        }
+        @SuppressWarnings("unchecked")
+        final K typedKey = (K) key;
+        final boolean[] removed = new boolean[1];
+        index.computeIfPresent(typedKey, (k, current) -> {
+            if (!current.value.equals(value)) {
+                return current;
+            }
+            order.remove(current.sequence);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    @Override
+    public void clear() {
+        for (final K key : index.keySet()) {
+            remove(key);
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return entrySet;
+    }
+
+    /**
+     * A mapping, with the sequence number giving its position
+     */
+    private static final class Slot<K, V> implements Map.Entry<K, V> {
+
+        private final K key;
+
+        private volatile V value;
+
+        private final long sequence;
+
+        private Slot(final K key, final V value, final long sequence) {
+            this.key = key;
+            this.value = value;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(final V value) {
+            throw new UnsupportedOperationException("Use put to replace the value");
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Map.Entry)) {
+                return false;
+            }
+            final Map.Entry<?, ?> other = (Map.Entry<?, ?>) obj;
+            return key.equals(other.getKey()) && value.equals(other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ value.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * Entries in insertion order
+     */
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            // Mappings added from now on have a higher sequence number
+            final Iterator<Slot<K, V>> slots = order.headMap(sequence.get(), true).values().iterator();
+            return new Iterator<Map.Entry<K, V>>() {
+
+                private Slot<K, V> last;
+
+                @Override
+                public boolean hasNext() {
+                    return slots.hasNext();
+                }
+
+                @Override
+                public Map.Entry<K, V> next() {
+                    if (!slots.hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    last = slots.next();
+                    return last;
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) {
+                        throw new IllegalStateException();
+                    }
+                    ConcurrentInsertionOrderMap.this.remove(last.key, last.value);
+                    last = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return index.size();
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            final V value = get(entry.getKey());
+            return value != null && value.equals(entry.getValue());
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            return ConcurrentInsertionOrderMap.this.remove(entry.getKey(), entry.getValue());
+        }
+
+        @Override
+        public void clear() {
+            ConcurrentInsertionOrderMap.this.clear();
+        }
+    }
+}
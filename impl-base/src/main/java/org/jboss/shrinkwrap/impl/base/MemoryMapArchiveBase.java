@@ -16,15 +16,18 @@
  */
 package org.jboss.shrinkwrap.impl.base;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
 
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ArchiveEvent;
@@ -45,7 +48,8 @@ import org.jboss.shrinkwrap.impl.base.path.PathUtil;
 /**
  * MemoryMapArchiveBase
  * <p>
- * A base implementation for all MemoryMap archives. Thread-safe.
+ * A base implementation for all MemoryMap archives. Thread-safe: content may be added from several threads at once
+ * without contending on a common lock, as additions to different paths only synchronize on their own entries.
  *
  * @author <a href="mailto:baileyje@gmail.com">John Bailey</a>
  * @author <a href="mailto:aslak@conduct.no">Aslak Knutsen</a>
@@ -54,21 +58,36 @@ import org.jboss.shrinkwrap.impl.base.path.PathUtil;
  */
 public abstract class MemoryMapArchiveBase<T extends Archive<T>> extends ArchiveBase<T> implements Archive<T> {
 
+    // -------------------------------------------------------------------------------------||
+    // Class Members ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Path of the root node, which is part of the content but not reported by {@link Archive#getContent()}
+     */
+    private static final ArchivePath ROOT = new BasicPath("/");
+
     // -------------------------------------------------------------------------------------||
     // Instance Members -------------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
 
     /**
-     * Storage for the {@link Node}s.
+     * Storage for the {@link Node}s, in insertion order.
      */
-    private final Map<ArchivePath, NodeImpl> content = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Map<ArchivePath, NodeImpl> content = new ConcurrentInsertionOrderMap<>();
 
     /**
-     * Storage for the {@link ArchiveAsset}s. Used to help get access to nested archive content.
+     * Storage for the {@link ArchiveAsset}s by the path they are mounted at. Used to help get access to nested archive
+     * content, by looking up the ancestors of a path.
      */
-    private final Map<ArchivePath, ArchiveAsset> nestedArchives = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Map<ArchivePath, ArchiveAsset> nestedArchives = new ConcurrentHashMap<>();
 
-    private final List<ArchiveEventHandler> handlers = new ArrayList<>();
+    /**
+     * Read-only view of the content, without the root node
+     */
+    private final Map<ArchivePath, Node> contentView = new ContentView(null);
+
+    private final List<ArchiveEventHandler> handlers = new CopyOnWriteArrayList<>();
 
     // -------------------------------------------------------------------------------------||
     // Constructor ------------------------------------------------------------------------||
@@ -105,8 +124,7 @@ public abstract class MemoryMapArchiveBase<T extends Archive<T>> extends Archive
         super(archiveName, configuration);
 
         // Add the root node to the content
-        final ArchivePath rootPath = new BasicPath("/");
-        content.put(rootPath, new NodeImpl(rootPath));
+        content.put(ROOT, new NodeImpl(ROOT));
     }
 
     // -------------------------------------------------------------------------------------||
@@ -185,41 +203,62 @@ public abstract class MemoryMapArchiveBase<T extends Archive<T>> extends Archive
     private T addAsset(ArchivePath path, Asset asset) {
         final Asset handledAsset = invokeHandlers(path, asset);
 
-        // Disallow if we're dealing with a non-empty dir
-        if (contains(path)) {
+        // Paths within nested archives are not part of the content, so only check these
+        if (!content.containsKey(path) && nestedContains(path)) {
             if (asset != null) {
                 // we're adding a file
-                final Node node = this.get(path);
+                final Node node = this.getNestedNode(path);
                 if (node.getAsset() == null) {
                     // Path exists as a dir, throw an exception
-                    throw new IllegalOverwriteException("Cannot add requested asset " + asset + " to path "
-                        + path.get() + " to archive " + this.getName() + "; path already exists as directory");
-                } else {
-                    // path exists as a file, overwrite
-                    addNewNode(path, handledAsset);
+                    throw directoryOverwrite(path, asset);
                 }
+                // path exists as a file, overwrite
+                addNewNode(path, asset, handledAsset);
             }
 
             // we're adding dir, it exists, do nothing
-        } else {
-            // Path does not exist, add new node
-            addNewNode(path, handledAsset);
+            return covariantReturn();
         }
 
+        addNewNode(path, asset, handledAsset);
         return covariantReturn();
     }
 
-    private void addNewNode(ArchivePath path, Asset handledAsset) {
-        // Add the node to the content of the archive
+    /**
+     * Adds a new node at the specified path, atomically with respect to other additions to the same path: an existing
+     * file is overwritten, an existing directory is kept if adding a directory, and may not be overwritten by a file.
+     */
+    private void addNewNode(final ArchivePath path, final Asset asset, final Asset handledAsset) {
+        // Create missing parents first, so the node is never published without them
+        final NodeImpl parentNode = obtainParent(path.getParent());
         final NodeImpl newNode = new NodeImpl(path, handledAsset);
-        content.put(path, newNode);
 
-        // Add the new node to the parent as a child
-        final NodeImpl parentNode = obtainParent(path.getParent());
-        if (parentNode != null) {
-            parentNode.removeChild(newNode);
-            parentNode.addChild(newNode);
-        }
+        // Add the node to the content of the archive, and to the parent as a child
+        content.compute(path, (p, current) -> {
+            if (current != null) {
+                if (asset == null) {
+                    // we're adding dir, it exists, do nothing
+                    return current;
+                }
+                if (current.getAsset() == null) {
+                    // Path exists as a dir, throw an exception
+                    throw directoryOverwrite(path, asset);
+                }
+                // path exists as a file, overwrite
+                if (parentNode != null) {
+                    parentNode.removeChild(current);
+                }
+            }
+            if (parentNode != null) {
+                parentNode.addChild(newNode);
+            }
+            return newNode;
+        });
+    }
+
+    private IllegalOverwriteException directoryOverwrite(final ArchivePath path, final Asset asset) {
+        return new IllegalOverwriteException("Cannot add requested asset " + asset + " to path " + path.get()
+            + " to archive " + this.getName() + "; path already exists as directory");
     }
 
     /**
@@ -358,14 +397,7 @@ public abstract class MemoryMapArchiveBase<T extends Archive<T>> extends Archive
      */
     @Override
     public Map<ArchivePath, Node> getContent() {
-        Map<ArchivePath, Node> ret = new LinkedHashMap<>();
-        for (Map.Entry<ArchivePath, NodeImpl> item : content.entrySet()) {
-            if (!item.getKey().equals(new BasicPath("/"))) {
-                ret.put(item.getKey(), item.getValue());
-            }
-        }
-
-        return Collections.unmodifiableMap(ret);
+        return contentView;
     }
 
     /**
@@ -377,15 +409,22 @@ public abstract class MemoryMapArchiveBase<T extends Archive<T>> extends Archive
     public Map<ArchivePath, Node> getContent(Filter<ArchivePath> filter) {
         Validate.notNull(filter, "Filter must be specified");
 
-        Map<ArchivePath, Node> filteredContent = new LinkedHashMap<>();
-        for (Map.Entry<ArchivePath, NodeImpl> contentEntry : content.entrySet()) {
-            if (filter.include(contentEntry.getKey())) {
-                if (!contentEntry.getKey().equals(new BasicPath("/"))) {
-                    filteredContent.put(contentEntry.getKey(), contentEntry.getValue());
-                }
-            }
-        }
-        return filteredContent;
+        return new ContentView(filter);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.Archive#streamContent(org.jboss.shrinkwrap.api.Filter)
+     */
+    @Override
+    public Stream<Node> streamContent(Filter<ArchivePath> filter) {
+        Validate.notNull(filter, "Filter must be specified");
+
+        return content.values().stream().filter(node -> {
+            final ArchivePath path = node.getPath();
+            return !path.equals(ROOT) && filter.include(path);
+        }).map(Node.class::cast);
     }
 
     // -------------------------------------------------------------------------------------||
@@ -396,23 +435,22 @@ public abstract class MemoryMapArchiveBase<T extends Archive<T>> extends Archive
      * Check to see if a path is found in a nested archive
      */
     private boolean nestedContains(ArchivePath path) {
-        // Iterate through nested archives
-        for (Entry<ArchivePath, ArchiveAsset> nestedArchiveEntry : nestedArchives.entrySet()) {
-            ArchivePath archivePath = nestedArchiveEntry.getKey();
-            ArchiveAsset archiveAsset = nestedArchiveEntry.getValue();
-
-            // Check to see if the requested path starts with the nested archive path
-            if (startsWith(path, archivePath)) {
-                Archive<?> nestedArchive = archiveAsset.getArchive();
+        // Look up the archive mounted at the nearest ancestor, if any
+        final ArchivePath archivePath = findNestedArchivePath(path);
+        if (archivePath == null) {
+            return false;
+        }
+        final ArchiveAsset archiveAsset = nestedArchives.get(archivePath);
+        if (archiveAsset == null) {
+            return false;
+        }
+        Archive<?> nestedArchive = archiveAsset.getArchive();
 
-                // Get the asset path from within the nested archive
-                ArchivePath nestedAssetPath = getNestedPath(path, archivePath);
+        // Get the asset path from within the nested archive
+        ArchivePath nestedAssetPath = getNestedPath(path, archivePath);
 
-                // Recurse the call to the nested archive
-                return nestedArchive.contains(nestedAssetPath);
-            }
-        }
-        return false;
+        // Recurse the call to the nested archive
+        return nestedArchive.contains(nestedAssetPath);
     }
 
     /**
@@ -423,40 +461,42 @@ public abstract class MemoryMapArchiveBase<T extends Archive<T>> extends Archive
      * @return The node corresponding to the asset in the nested archive, or {@code null} if not found
      */
     private Node getNestedNode(ArchivePath path) {
-        // Iterate through nested archives
-        for (Entry<ArchivePath, ArchiveAsset> nestedArchiveEntry : nestedArchives.entrySet()) {
-            ArchivePath archivePath = nestedArchiveEntry.getKey();
-            ArchiveAsset archiveAsset = nestedArchiveEntry.getValue();
-
-            // Check to see if the requested path starts with the nested archive path
-            if (startsWith(path, archivePath)) {
-                Archive<?> nestedArchive = archiveAsset.getArchive();
+        // Look up the archive mounted at the nearest ancestor, if any
+        final ArchivePath archivePath = findNestedArchivePath(path);
+        if (archivePath == null) {
+            return null;
+        }
+        final ArchiveAsset archiveAsset = nestedArchives.get(archivePath);
+        if (archiveAsset == null) {
+            return null;
+        }
+        Archive<?> nestedArchive = archiveAsset.getArchive();
 
-                // Get the asset path from within the nested archive
-                ArchivePath nestedAssetPath = getNestedPath(path, archivePath);
+        // Get the asset path from within the nested archive
+        ArchivePath nestedAssetPath = getNestedPath(path, archivePath);
 
-                // Recurse the call to the nested archive
-                return nestedArchive.get(nestedAssetPath);
-            }
-        }
-        return null;
+        // Recurse the call to the nested archive
+        return nestedArchive.get(nestedAssetPath);
     }
 
     /**
-     * Check to see if one path starts with another
+     * Finds the path of the nested archive containing the specified path, by looking up each of its ancestors, so that
+     * the cost depends on the depth of the path rather than on the number of nested archives
      *
-     * @param fullPath
-     *            The full path to check
-     * @param startingPath
-     *            The path to compare against
-     * @return
-     *            {@code true} if the full path starts with the starting path, {@code false} otherwise
+     * @param path
+     *            The path to look up
+     * @return The path the nearest enclosing nested archive is mounted at, or {@code null} if none
      */
-    private boolean startsWith(ArchivePath fullPath, ArchivePath startingPath) {
-        final String context = fullPath.get();
-        final String startingContext = startingPath.get();
-
-        return context.startsWith(startingContext);
+    private ArchivePath findNestedArchivePath(ArchivePath path) {
+        if (nestedArchives.isEmpty()) {
+            return null;
+        }
+        for (ArchivePath ancestor = path.getParent(); ancestor != null; ancestor = ancestor.getParent()) {
+            if (nestedArchives.containsKey(ancestor)) {
+                return ancestor;
+            }
+        }
+        return null;
     }
 
     /**
@@ -511,16 +551,122 @@ public abstract class MemoryMapArchiveBase<T extends Archive<T>> extends Archive
 
         // If the node doesn't exist, create it. Also create all possible non-existing
         // parents
-        node = new NodeImpl(path);
-        NodeImpl parentNode = obtainParent(path.getParent());
+        final NodeImpl parentNode = obtainParent(path.getParent());
+        final NodeImpl newNode = new NodeImpl(path);
 
-        if (parentNode != null) {
-            parentNode.addChild(node);
+        // Add the node to the contents of the archive, unless another thread did so meanwhile
+        node = content.compute(path, (p, current) -> {
+            if (current != null) {
+                return current;
+            }
+            if (parentNode != null) {
+                parentNode.addChild(newNode);
+            }
+            return newNode;
+        });
+        if (node.getAsset() != null) {
+            throw new IllegalArchivePathException("Could not create node under " + path.getParent()
+                + ". It points to an asset.");
         }
 
-        // Add the node to the contents of the archive
-        content.put(path, node);
-
         return node;
     }
+
+    // -------------------------------------------------------------------------------------||
+    // Inner Classes ----------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Read-only, live view of the content, excluding the root node and optionally the paths not matching a filter.
+     * Nothing is copied: lookups go to the content directly, and iteration walks it in insertion order, so the archive
+     * may be modified while the view is iterated; entries added meanwhile are not returned.
+     */
+    private final class ContentView extends AbstractMap<ArchivePath, Node> {
+
+        /**
+         * Filter the paths must match, or null to include all
+         */
+        private final Filter<ArchivePath> filter;
+
+        private final Set<Map.Entry<ArchivePath, Node>> entrySet = new AbstractSet<Map.Entry<ArchivePath, Node>>() {
+
+            @Override
+            public Iterator<Map.Entry<ArchivePath, Node>> iterator() {
+                final Iterator<Map.Entry<ArchivePath, NodeImpl>> entries = content.entrySet().iterator();
+                return new Iterator<Map.Entry<ArchivePath, Node>>() {
+
+                    private Map.Entry<ArchivePath, Node> next;
+
+                    @Override
+                    public boolean hasNext() {
+                        while (next == null && entries.hasNext()) {
+                            final Map.Entry<ArchivePath, NodeImpl> entry = entries.next();
+                            if (includes(entry.getKey())) {
+                                @SuppressWarnings({ "unchecked", "rawtypes" })
+                                final Map.Entry<ArchivePath, Node> included = (Map.Entry) entry;
+                                next = included;
+                            }
+                        }
+                        return next != null;
+                    }
+
+                    @Override
+                    public Map.Entry<ArchivePath, Node> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        final Map.Entry<ArchivePath, Node> entry = next;
+                        next = null;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                if (filter == null) {
+                    return content.size() - (content.containsKey(ROOT) ? 1 : 0);
+                }
+                int size = 0;
+                for (final ArchivePath path : content.keySet()) {
+                    if (includes(path)) {
+                        size++;
+                    }
+                }
+                return size;
+            }
+        };
+
+        private ContentView(final Filter<ArchivePath> filter) {
+            this.filter = filter;
+        }
+
+        private boolean includes(final ArchivePath path) {
+            return !path.equals(ROOT) && (filter == null || filter.include(path));
+        }
+
+        @Override
+        public Set<Map.Entry<ArchivePath, Node>> entrySet() {
+            return entrySet;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            // Stops at the first included path, rather than counting them all
+            return !entrySet.iterator().hasNext();
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Node get(final Object key) {
+            if (!(key instanceof ArchivePath) || !includes((ArchivePath) key)) {
+                return null;
+            }
+            return content.get(key);
+        }
+    }
 }
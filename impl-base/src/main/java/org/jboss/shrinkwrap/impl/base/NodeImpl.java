@@ -17,7 +17,6 @@
 package org.jboss.shrinkwrap.impl.base;
 
 import java.util.Collections;
-import java.util.LinkedHashSet;
 import java.util.Set;
 
 import org.jboss.shrinkwrap.api.Archive;
@@ -47,9 +46,9 @@ public class NodeImpl implements Node {
     private final Asset asset;
 
     /**
-     * The children nodes.
+     * The children nodes, in insertion order; may be updated and iterated concurrently.
      */
-    private final Set<Node> children = Collections.synchronizedSet(new LinkedHashSet<>());
+    private final Set<Node> children = Collections.newSetFromMap(new ConcurrentInsertionOrderMap<>());
 
     // -------------------------------------------------------------------------------------||
     // Constructor ------------------------------------------------------------------------||
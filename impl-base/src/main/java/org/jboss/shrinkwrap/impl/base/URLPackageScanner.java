@@ -18,27 +18,39 @@ package org.jboss.shrinkwrap.impl.base;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLDecoder;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Enumeration;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipException;
-import java.util.zip.ZipFile;
 
 import org.jboss.shrinkwrap.api.asset.Asset;
-import org.jboss.shrinkwrap.api.asset.ClassLoaderAsset;
+import org.jboss.shrinkwrap.api.asset.FileAsset;
+import org.jboss.shrinkwrap.impl.base.asset.SharedZipFile;
+import org.jboss.shrinkwrap.impl.base.asset.ZipFileEntryAsset;
 
 /**
- * Implementation of scanner which can scan a {@link URLClassLoader}
+ * Implementation of scanner which can scan a {@link URLClassLoader}. The class entries of the JARs found are cached
+ * process-wide by {@link ClassPathIndex}. Scans of several class path roots, and recursive scans of directories, fan
+ * out over a small pool of their own, as they block on the file system; the classes found are still reported to the
+ * {@link Callback} on the calling thread, in the order of the roots and of their listings.
+ * <p>
+ * The {@link Asset} of a class found reads the file or JAR entry the class was found in, rather than looking the class
+ * up again through the {@link ClassLoader}. A class found in several roots is read from the first of them, as the
+ * {@link ClassLoader} would load it.
  *
  * @author Thomas Heute
  * @author Gavin King
@@ -54,6 +66,17 @@ public class URLPackageScanner {
 
     private static final String WEB_INF_CLASSES_DIR = "WEB-INF/classes/";
 
+    /**
+     * Number of scans queued beyond which a directory scans its subdirectories itself rather than splitting them
+     */
+    private static final int MAX_SURPLUS_SCANS = 2;
+
+    /**
+     * Pool running the scans, kept apart from the common pool as they block on the file system; its threads end once
+     * idle
+     */
+    private static final ForkJoinPool scanPool = createScanPool();
+
     private final String packageName;
 
     private final String packageNamePath;
@@ -97,7 +120,8 @@ public class URLPackageScanner {
 
     public void scanPackage() {
         try {
-            Set<String> paths = new HashSet<>();
+            // Keep the order of the ClassLoader, so that classes are reported in a deterministic order
+            Set<String> paths = new LinkedHashSet<>();
 
             for (URL url : loadResources(packageNamePath)) {
                 String urlPath = url.getFile();
@@ -118,50 +142,79 @@ public class URLPackageScanner {
         }
     }
 
-    private void handleArchiveByFile(File file) throws IOException {
+    private List<FoundClass> handleArchiveByFile(File file) throws IOException {
         log.fine("archive: " + file);
-        try (ZipFile zip = new ZipFile(file)) {
-            final Enumeration<? extends ZipEntry> entries = zip.entries();
-            while (entries.hasMoreElements()) {
-                ZipEntry entry = entries.nextElement();
-                String name = entry.getName();
-                if (name.startsWith(prefix + packageNamePath) && name.endsWith(SUFFIX_CLASS)
-                        && (addRecursively || !name.substring((prefix + packageNamePath).length() + 1).contains("/"))) {
-                    String className = name.replace("/", ".").substring(prefix.length(), name.length() - SUFFIX_CLASS.length());
-                    foundClass(className, name);
-                }
-            }
-        } catch (ZipException e) {
-            throw new RuntimeException("Error handling file " + file, e);
+        final List<FoundClass> found = new ArrayList<>();
+        // Shared by all classes read from the same index of the JAR
+        final ClassPathIndex.JarIndex index = ClassPathIndex.index(file);
+        final SharedZipFile zipFile = index.getZipFile();
+        for (ZipEntry entry : index.classEntries(prefix + packageNamePath, addRecursively)) {
+            String name = entry.getName();
+            String className = name.replace("/", ".").substring(prefix.length(), name.length() - SUFFIX_CLASS.length());
+            found.add(new FoundClass(className, name, new ZipFileEntryAsset(zipFile, entry)));
         }
+        return found;
     }
 
     private void handle(Set<String> paths) throws IOException, ClassNotFoundException {
+        final List<RootScan> roots = new ArrayList<>(paths.size());
         for (String urlPath : paths) {
-            log.fine("scanning: " + urlPath);
-            File file = new File(urlPath);
-            if (file.isDirectory()) {
-                handle(file, packageName);
-            } else {
-                handleArchiveByFile(file);
+            roots.add(new RootScan(new File(urlPath)));
+        }
+
+        // Scans all roots in the scan pool
+        try {
+            scanPool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(roots)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        final Map<String, Asset> assets = new HashMap<>();
+        for (RootScan root : roots) {
+            for (FoundClass foundClass : root.join()) {
+                final Asset shadowing = assets.putIfAbsent(foundClass.path, foundClass.asset);
+                callback.classFound(foundClass.className, shadowing != null ? shadowing : foundClass.asset);
             }
         }
     }
 
-    private void handle(File file, String packageName) {
-        for (File child : Objects.requireNonNull(file.listFiles())) {
-            if (!child.isDirectory() && child.getName().endsWith(SUFFIX_CLASS)) {
-                final String packagePrefix = !packageName.isEmpty() ? packageName + "." : packageName;
-                String className = packagePrefix + child.getName().substring(0, child.getName().lastIndexOf(SUFFIX_CLASS));
-                foundClass(className, prefix + className.replace('.', '/') + SUFFIX_CLASS);
-            } else if (child.isDirectory() && addRecursively) {
-                handle(child, packageName + "." + child.getName());
+    private List<FoundClass> handle(File file, String packageName) {
+        final ClassPathIndex.DirectoryListing listing = ClassPathIndex.list(file);
+        final List<FoundClass> found = new ArrayList<>();
+        for (String classFile : listing.getClassFiles()) {
+            final String packagePrefix = !packageName.isEmpty() ? packageName + "." : packageName;
+            String className = packagePrefix + classFile.substring(0, classFile.lastIndexOf(SUFFIX_CLASS));
+            found.add(new FoundClass(className, prefix + className.replace('.', '/') + SUFFIX_CLASS, new FileAsset(
+                new File(file, classFile))));
+        }
+        if (!addRecursively) {
+            return found;
+        }
+        final List<File> children = listing.getSubdirectories();
+        // Split only several subdirectories, and only while other threads lack work; else scan them here
+        if (children.size() > 1 && ForkJoinTask.getSurplusQueuedTaskCount() <= MAX_SURPLUS_SCANS) {
+            final List<DirectoryScan> subdirectories = new ArrayList<>(children.size());
+            for (File child : children) {
+                subdirectories.add(new DirectoryScan(child, packageName + "." + child.getName()));
+            }
+            ForkJoinTask.invokeAll(subdirectories);
+            for (DirectoryScan subdirectory : subdirectories) {
+                found.addAll(subdirectory.join());
+            }
+        } else {
+            for (File child : children) {
+                found.addAll(handle(child, packageName + "." + child.getName()));
             }
         }
+        return found;
     }
 
-    private void foundClass(String className, String path) {
-        callback.classFound(className, new ClassLoaderAsset(path, classLoader));
+    private static ForkJoinPool createScanPool() {
+        return new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("ShrinkWrap package scanner " + thread.getPoolIndex());
+            return thread;
+        }, null, false);
     }
 
     private List<URL> loadResources(String name) throws IOException {
@@ -182,6 +235,65 @@ public class URLPackageScanner {
         return resources;
     }
 
+    /**
+     * A class found, with the path of its resource and the asset reading it from where it was found
+     */
+    private static final class FoundClass {
+        private final String className;
+        private final String path;
+        private final Asset asset;
+
+        private FoundClass(String className, String path, Asset asset) {
+            this.className = className;
+            this.path = path;
+            this.asset = asset;
+        }
+    }
+
+    /**
+     * Scan of a class path root, a JAR or a directory
+     */
+    private final class RootScan extends RecursiveTask<List<FoundClass>> {
+        private static final long serialVersionUID = 1L;
+
+        private final File file;
+
+        private RootScan(File file) {
+            this.file = file;
+        }
+
+        @Override
+        protected List<FoundClass> compute() {
+            log.fine("scanning: " + file);
+            try {
+                return file.isDirectory() ? handle(file, packageName) : handleArchiveByFile(file);
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        }
+    }
+
+    /**
+     * Scan of a directory below a class path root, for recursive scans
+     */
+    private final class DirectoryScan extends RecursiveTask<List<FoundClass>> {
+        private static final long serialVersionUID = 1L;
+
+        private final File directory;
+
+        private final String packageName;
+
+        private DirectoryScan(File directory, String packageName) {
+            this.directory = directory;
+            this.packageName = packageName;
+        }
+
+        @Override
+        protected List<FoundClass> compute() {
+            return handle(directory, packageName);
+        }
+    }
+
     /**
      * Callback interface for found classes.
      *
@@ -17,6 +17,8 @@
 package org.jboss.shrinkwrap.impl.base.asset;
 
 import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.asset.AssetMetadata;
 import org.jboss.shrinkwrap.impl.base.path.BasicPath;
 
 /**
@@ -113,6 +115,34 @@ public final class AssetUtil {
         return fileName;
     }
 
+    /**
+     * Helper to obtain the length of an asset's content without reading it.
+     *
+     * @param asset
+     *            The asset, may be null
+     * @return The length of the content, or {@link AssetMetadata#UNKNOWN} if not known in advance
+     */
+    public static long getContentLength(final Asset asset) {
+        if (asset instanceof AssetMetadata) {
+            return ((AssetMetadata) asset).getContentLength();
+        }
+        return AssetMetadata.UNKNOWN;
+    }
+
+    /**
+     * Helper to obtain the CRC-32 of an asset's content without reading it.
+     *
+     * @param asset
+     *            The asset, may be null
+     * @return The CRC-32 of the content, or {@link AssetMetadata#UNKNOWN} if not known in advance
+     */
+    public static long getContentCrc(final Asset asset) {
+        if (asset instanceof AssetMetadata) {
+            return ((AssetMetadata) asset).getContentCrc();
+        }
+        return AssetMetadata.UNKNOWN;
+    }
+
     /**
      * Helper to extract a ClassResources full path. <br/>
      * <br/>
@@ -0,0 +1,81 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.asset;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.asset.AssetMetadata;
+import org.jboss.shrinkwrap.impl.base.Validate;
+import org.jboss.shrinkwrap.impl.base.io.RangeInputStream;
+
+/**
+ * Asset over a range of a file, read in place each time its stream is opened.
+ * <p>
+ * Used by the TAR importer for uncompressed files, whose entries are stored contiguously after their header.
+ */
+public class FileRangeAsset implements Asset, AssetMetadata {
+
+    private final File file;
+    private final long offset;
+    private final long length;
+
+    /**
+     * Creates a new asset over the specified range of the file.
+     *
+     * @param file
+     *            The file holding the content
+     * @param offset
+     *            The offset of the content in the file
+     * @param length
+     *            The length of the content
+     * @throws IllegalArgumentException
+     *             If the file is not specified
+     */
+    public FileRangeAsset(final File file, final long offset, final long length) throws IllegalArgumentException {
+        Validate.notNull(file, "File must be specified");
+        this.file = file;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.asset.Asset#openStream()
+     */
+    @Override
+    public InputStream openStream() {
+        try {
+            return RangeInputStream.open(file, offset, length);
+        } catch (final IOException ioe) {
+            throw new RuntimeException("Could not open file range stream", ioe);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.asset.AssetMetadata#getContentLength()
+     */
+    @Override
+    public long getContentLength() {
+        return length;
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.asset;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jboss.shrinkwrap.impl.base.Validate;
+import org.jboss.shrinkwrap.impl.base.io.SpoolBuffer;
+
+/**
+ * Handle to a {@link SpoolBuffer} shared by all {@link SpooledEntryAsset}s imported from an archive, which owns the
+ * buffer: once {@link SharedSpoolBuffer#seal()}ed, the buffer is closed, deleting its spill file if any, as soon as
+ * neither the handle nor a stream opened from it is reachable any longer.
+ * <p>
+ * The content of entries later removed from the archive is therefore held until all other entries are released.
+ * <p>
+ * Thread-safe once sealed.
+ */
+public final class SharedSpoolBuffer {
+
+    /**
+     * Logger
+     */
+    private static final Logger log = Logger.getLogger(SharedSpoolBuffer.class.getName());
+
+    /**
+     * Time the releaser thread waits for a handle to be collected before ending, if none is pending, in milliseconds
+     */
+    private static final long RELEASER_KEEP_ALIVE_MILLIS = 10000;
+
+    /**
+     * Queue notified of collected handles
+     */
+    private static final ReferenceQueue<SharedSpoolBuffer> collected = new ReferenceQueue<>();
+
+    /**
+     * Releases of spilled buffers pending the collection of their handle; guarded by the class lock
+     */
+    private static final Set<Release> pending = new HashSet<>();
+
+    /**
+     * Thread closing the buffers of collected handles, or null if none is pending; guarded by the class lock
+     */
+    private static Thread releaser;
+
+    /**
+     * The underlying buffer
+     */
+    private final SpoolBuffer buffer;
+
+    /**
+     * Release of the buffer once sealed, if spilled; guarded by the class lock
+     */
+    private Release release;
+
+    /**
+     * Creates a new handle owning the specified buffer.
+     *
+     * @param buffer
+     *            The buffer, to which the content is written before the handle is sealed
+     * @throws IllegalArgumentException
+     *             If the buffer is not specified
+     */
+    public SharedSpoolBuffer(final SpoolBuffer buffer) throws IllegalArgumentException {
+        Validate.notNull(buffer, "Buffer must be specified");
+        this.buffer = buffer;
+    }
+
+    /**
+     * Ends the writing of the buffer, and hands it over to this handle: if spilled to disk, the spill file is deleted
+     * once the handle is no longer reachable.
+     *
+     * @throws IOException
+     *             If the spill file could not be written
+     */
+    public void seal() throws IOException {
+        try {
+            buffer.seal();
+        } finally {
+            if (buffer.isSpilled()) {
+                register(this, new Release(this, buffer));
+            }
+        }
+    }
+
+    /**
+     * Opens a new stream over a range of the buffer, which keeps this handle reachable until it is.
+     *
+     * @param offset
+     *            The offset of the first byte to read
+     * @param length
+     *            The number of bytes to read
+     * @return A new {@link InputStream} over the range
+     * @throws IllegalArgumentException
+     *             If the range is not within the buffer
+     * @throws IOException
+     *             If an I/O error occurs
+     */
+    public InputStream openStream(final long offset, final long length) throws IllegalArgumentException, IOException {
+        return new OwnedInputStream(buffer.openStream(offset, length), this);
+    }
+
+    /**
+     * Releases the buffer right away, as if this handle had been collected. Used by tests.
+     */
+    void release() {
+        final Release release;
+        synchronized (SharedSpoolBuffer.class) {
+            release = this.release;
+            this.release = null;
+            if (release == null || !pending.remove(release)) {
+                buffer.close();
+                return;
+            }
+        }
+        release.clear();
+        close(release);
+    }
+
+    private static synchronized void register(final SharedSpoolBuffer owner, final Release release) {
+        owner.release = release;
+        pending.add(release);
+        if (releaser == null) {
+            releaser = new Thread(SharedSpoolBuffer::releaseCollected, "ShrinkWrap spool buffer releaser");
+            releaser.setDaemon(true);
+            releaser.start();
+        }
+    }
+
+    /**
+     * Closes the buffers of collected handles, until none has been pending for the keep-alive time
+     */
+    private static void releaseCollected() {
+        while (true) {
+            final Reference<? extends SharedSpoolBuffer> reference;
+            try {
+                reference = collected.remove(RELEASER_KEEP_ALIVE_MILLIS);
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                synchronized (SharedSpoolBuffer.class) {
+                    releaser = null;
+                }
+                return;
+            }
+            synchronized (SharedSpoolBuffer.class) {
+                if (reference == null) {
+                    if (pending.isEmpty()) {
+                        releaser = null;
+                        return;
+                    }
+                    continue;
+                }
+                if (!pending.remove(reference)) {
+                    // Already released
+                    continue;
+                }
+            }
+            close((Release) reference);
+        }
+    }
+
+    private static void close(final Release release) {
+        if (log.isLoggable(Level.FINER)) {
+            log.finer("Releasing spool buffer of " + release.buffer.size() + " bytes");
+        }
+        release.buffer.close();
+    }
+
+    /**
+     * Phantom reference to a handle, holding the buffer to close once the handle is collected
+     */
+    private static final class Release extends PhantomReference<SharedSpoolBuffer> {
+
+        private final SpoolBuffer buffer;
+
+        private Release(final SharedSpoolBuffer owner, final SpoolBuffer buffer) {
+            super(owner, collected);
+            this.buffer = buffer;
+        }
+    }
+
+    /**
+     * Stream over a range of the buffer, keeping its handle reachable so the buffer is not closed while in use
+     */
+    private static final class OwnedInputStream extends FilterInputStream {
+
+        @SuppressWarnings("unused")
+        private final SharedSpoolBuffer owner;
+
+        private OwnedInputStream(final InputStream in, final SharedSpoolBuffer owner) {
+            super(in);
+            this.owner = owner;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            return in.read(b, off, len);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.asset;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.jboss.shrinkwrap.impl.base.Validate;
+
+/**
+ * Handle to a ZIP file shared by all {@link ZipFileEntryAsset}s imported from it, so that the file and its central
+ * directory are opened once rather than once per entry.
+ * <p>
+ * The underlying {@link ZipFile} is opened lazily on the first {@link SharedZipFile#openStream(ZipEntry)}, and
+ * reference counted by the entry streams opened from it. As entries are typically read one after another, it is not
+ * closed as soon as the last stream is closed, but once no stream has been open for the idle timeout; it is then
+ * reopened on demand.
+ * <p>
+ * The entries read through this handle were described by the file as it was when the handle was created; if the file
+ * has since changed on disk, their recorded size and CRC no longer hold, so opening a stream fails instead.
+ * <p>
+ * Thread-safe.
+ */
+public final class SharedZipFile {
+
+    /**
+     * Logger
+     */
+    private static final Logger log = Logger.getLogger(SharedZipFile.class.getName());
+
+    /**
+     * Default time the ZIP file is kept open once its last entry stream is closed, in milliseconds
+     */
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 1000;
+
+    /**
+     * Closes idle ZIP files; its single daemon thread only lives while closes are pending
+     */
+    private static final ScheduledThreadPoolExecutor closer = createCloser();
+
+    /**
+     * The file on disk
+     */
+    private final File file;
+
+    /**
+     * The open ZIP file, or null if not yet (or no longer) open
+     */
+    private ZipFile zipFile;
+
+    /**
+     * Last modification time of the file when this handle was created
+     */
+    private final long lastModified;
+
+    /**
+     * Length of the file when this handle was created
+     */
+    private final long length;
+
+    /**
+     * Time the ZIP file is kept open once its last entry stream is closed, in nanoseconds
+     */
+    private final long idleTimeout;
+
+    /**
+     * Number of entry streams currently open
+     */
+    private int references;
+
+    /**
+     * {@link System#nanoTime()} when the last entry stream was closed
+     */
+    private long idleSince;
+
+    /**
+     * Whether a close is scheduled
+     */
+    private boolean closeScheduled;
+
+    /**
+     * Creates a new handle to the specified ZIP file, closed after the default idle timeout; the file is not opened
+     * until needed.
+     *
+     * @param file
+     *            The ZIP file
+     * @throws IllegalArgumentException
+     *             If the file is not specified
+     */
+    public SharedZipFile(final File file) throws IllegalArgumentException {
+        this(file, DEFAULT_IDLE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a new handle to the specified ZIP file; the file is not opened until needed.
+     *
+     * @param file
+     *            The ZIP file
+     * @param idleTimeout
+     *            Time the ZIP file is kept open once its last entry stream is closed; if zero, it is closed with the
+     *            last stream
+     * @param unit
+     *            The unit of the idle timeout
+     * @throws IllegalArgumentException
+     *             If the file or unit is not specified, or the idle timeout is negative
+     */
+    public SharedZipFile(final File file, final long idleTimeout, final TimeUnit unit)
+        throws IllegalArgumentException {
+        Validate.notNull(file, "File must be specified");
+        Validate.notNull(unit, "Unit must be specified");
+        if (idleTimeout < 0) {
+            throw new IllegalArgumentException("Idle timeout must not be negative");
+        }
+        this.file = file;
+        this.idleTimeout = unit.toNanos(idleTimeout);
+        this.lastModified = file.lastModified();
+        this.length = file.length();
+    }
+
+    /**
+     * @return The ZIP file on disk
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Opens a stream over the content of the specified entry. The stream must be closed by the caller.
+     *
+     * @param entry
+     *            The entry to read
+     * @return A new {@link InputStream} over the entry content
+     * @throws IOException
+     *             If the file could not be opened, has changed since this handle was created, or does not contain the
+     *             entry
+     */
+    public synchronized InputStream openStream(final ZipEntry entry) throws IOException {
+        if (isStale()) {
+            if (references == 0) {
+                closeQuietly();
+            }
+            throw new IOException(file.getAbsolutePath() + " has changed since its entries were read");
+        }
+        if (zipFile == null) {
+            zipFile = new ZipFile(file);
+        }
+        final InputStream in = zipFile.getInputStream(entry);
+        if (in == null) {
+            throw new IOException("Entry " + entry.getName() + " not found in " + file.getAbsolutePath());
+        }
+        references++;
+        return new EntryInputStream(in);
+    }
+
+    /**
+     * @return Whether the ZIP file is currently open
+     */
+    public synchronized boolean isOpen() {
+        return zipFile != null;
+    }
+
+    /**
+     * Releases a reference taken by {@link SharedZipFile#openStream(ZipEntry)}, closing the ZIP file once idle
+     */
+    private synchronized void release() {
+        if (--references > 0) {
+            return;
+        }
+        if (idleTimeout == 0) {
+            closeQuietly();
+            return;
+        }
+        idleSince = System.nanoTime();
+        if (!closeScheduled) {
+            closeScheduled = true;
+            closer.schedule(this::closeIfIdle, idleTimeout, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Closes the ZIP file if no stream has been open for the idle timeout, or else checks again once it may have been
+     */
+    private synchronized void closeIfIdle() {
+        closeScheduled = false;
+        if (zipFile == null || references > 0) {
+            // Closing the last stream schedules a new check
+            return;
+        }
+        final long idle = System.nanoTime() - idleSince;
+        if (idle >= idleTimeout) {
+            closeQuietly();
+        } else {
+            closeScheduled = true;
+            closer.schedule(this::closeIfIdle, idleTimeout - idle, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * @return Whether the file changed on disk since this handle was created
+     */
+    private boolean isStale() {
+        return file.lastModified() != lastModified || file.length() != length;
+    }
+
+    private void closeQuietly() {
+        if (zipFile == null) {
+            return;
+        }
+        try {
+            zipFile.close();
+        } catch (final IOException ioe) {
+            if (log.isLoggable(Level.FINER)) {
+                log.finer("Could not close " + file.getAbsolutePath() + " due to: " + ioe.getMessage() + "; ignoring");
+            }
+        }
+        zipFile = null;
+    }
+
+    private static ScheduledThreadPoolExecutor createCloser() {
+        final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, "ShrinkWrap ZIP file closer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setKeepAliveTime(10, TimeUnit.SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Entry stream forwarding bulk reads, which releases its reference to the shared file when closed
+     */
+    private final class EntryInputStream extends FilterInputStream {
+
+        private boolean closed;
+
+        private EntryInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                super.close();
+            } finally {
+                release();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.asset;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.asset.AssetMetadata;
+import org.jboss.shrinkwrap.impl.base.Validate;
+import org.jboss.shrinkwrap.impl.base.io.SpoolBuffer;
+
+/**
+ * Asset over a range of a {@link SpoolBuffer}, shared by all entries of an imported archive so that their content
+ * is held once, in memory or on disk, rather than in an array per entry. The buffer is reached through its
+ * {@link SharedSpoolBuffer} handle, which releases it once no asset of the archive is reachable any longer.
+ * <p>
+ * Used by the TAR importers.
+ */
+public class SpooledEntryAsset implements Asset, AssetMetadata {
+
+    private final SharedSpoolBuffer buffer;
+    private final long offset;
+    private final long length;
+
+    /**
+     * Creates a new asset over the specified range of the buffer.
+     *
+     * @param buffer
+     *            The handle to the buffer holding the content
+     * @param offset
+     *            The offset of the content in the buffer
+     * @param length
+     *            The length of the content
+     * @throws IllegalArgumentException
+     *             If the buffer is not specified
+     */
+    public SpooledEntryAsset(final SharedSpoolBuffer buffer, final long offset, final long length)
+        throws IllegalArgumentException {
+        Validate.notNull(buffer, "Buffer must be specified");
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.asset.Asset#openStream()
+     */
+    @Override
+    public InputStream openStream() {
+        try {
+            return buffer.openStream(offset, length);
+        } catch (final IOException ioe) {
+            throw new RuntimeException("Could not open spooled entry stream", ioe);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.asset.AssetMetadata#getContentLength()
+     */
+    @Override
+    public long getContentLength() {
+        return length;
+    }
+}
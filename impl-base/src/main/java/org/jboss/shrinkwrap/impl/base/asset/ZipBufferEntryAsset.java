@@ -0,0 +1,252 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.asset;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.asset.AssetMetadata;
+import org.jboss.shrinkwrap.api.asset.ByteBufferAsset;
+import org.jboss.shrinkwrap.impl.base.Validate;
+
+/**
+ * Asset over the raw data of a ZIP entry held in a {@link ByteBuffer}, typically a region of a memory-mapped ZIP file
+ * or of an in-memory ZIP archive. The content is inflated from the buffer on each {@link ZipBufferEntryAsset#openStream()};
+ * nothing is copied up front.
+ * <p>
+ * Used by the ZipImporter.
+ */
+public class ZipBufferEntryAsset implements Asset, AssetMetadata {
+
+    /**
+     * Size of the chunks copied from buffers without an accessible backing array
+     */
+    private static final int CHUNK_SIZE = 8192;
+
+    private final ByteBuffer data;
+
+    /**
+     * Read-only view of the raw entry data
+     */
+    private final ByteBufferAsset rawData;
+
+    private final boolean deflated;
+    private final long size;
+    private final long crc;
+    private final long lastModified;
+
+    /**
+     * Creates a new asset over the specified entry data.
+     *
+     * @param data
+     *            The raw entry data, between position and limit; not modified by this asset
+     * @param deflated
+     *            Whether the data is DEFLATE compressed, rather than STORED
+     * @param size
+     *            The uncompressed size of the entry, or {@link AssetMetadata#UNKNOWN}
+     * @param crc
+     *            The CRC-32 of the uncompressed entry, or {@link AssetMetadata#UNKNOWN}
+     * @param lastModified
+     *            The modification time of the entry, or {@link AssetMetadata#UNKNOWN}
+     * @throws IllegalArgumentException
+     *             If the data is not specified
+     */
+    public ZipBufferEntryAsset(final ByteBuffer data, final boolean deflated, final long size, final long crc,
+        final long lastModified) throws IllegalArgumentException {
+        Validate.notNull(data, "Data must be specified");
+        this.data = data.slice();
+        this.rawData = new ByteBufferAsset(this.data);
+        this.deflated = deflated;
+        this.size = size;
+        this.crc = crc;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.asset.Asset#openStream()
+     */
+    @Override
+    public InputStream openStream() {
+        final InputStream content = deflated ? new BufferInflaterInputStream(data.duplicate(), rawData.openStream())
+            : rawData.openStream();
+        if (size == UNKNOWN && crc == UNKNOWN) {
+            return content;
+        }
+        return new VerifyingInputStream(content, size, crc);
+    }
+
+    /**
+     * @return The number of bytes of raw entry data referenced by this asset
+     */
+    public int getRawLength() {
+        return data.remaining();
+    }
+
+    /**
+     * Creates a new asset over a copy of the raw entry data, so that the buffer referenced by this asset need not be
+     * retained.
+     *
+     * @return A new asset with the same content and metadata
+     */
+    public ZipBufferEntryAsset copy() {
+        final ByteBuffer copy = ByteBuffer.allocate(data.remaining());
+        copy.put(data.duplicate());
+        ((Buffer) copy).flip();
+        return new ZipBufferEntryAsset(copy, deflated, size, crc, lastModified);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.asset.AssetMetadata#getContentLength()
+     */
+    @Override
+    public long getContentLength() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.asset.AssetMetadata#getContentCrc()
+     */
+    @Override
+    public long getContentCrc() {
+        return crc;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.asset.AssetMetadata#getLastModified()
+     */
+    @Override
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * {@link CheckedInputStream} verifying, once the content has been read to its end, that its size and CRC-32 are
+     * those recorded in the central directory, as {@link java.util.zip.ZipInputStream} does
+     */
+    private static final class VerifyingInputStream extends CheckedInputStream {
+
+        private final long expectedSize;
+        private final long expectedCrc;
+        private long count;
+
+        private VerifyingInputStream(final InputStream in, final long expectedSize, final long expectedCrc) {
+            super(in, new CRC32());
+            this.expectedSize = expectedSize;
+            this.expectedCrc = expectedCrc;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b == -1) {
+                verify();
+            } else {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int read = super.read(b, off, len);
+            if (read == -1) {
+                verify();
+            } else {
+                count += read;
+            }
+            return read;
+        }
+
+        private void verify() throws ZipException {
+            if (expectedSize != UNKNOWN && count != expectedSize) {
+                throw new ZipException("Invalid entry size (expected " + expectedSize + " but got " + count
+                    + " bytes)");
+            }
+            final long actualCrc = getChecksum().getValue();
+            if (expectedCrc != UNKNOWN && actualCrc != expectedCrc) {
+                throw new ZipException("Invalid entry CRC (expected 0x" + Long.toHexString(expectedCrc)
+                    + " but got 0x" + Long.toHexString(actualCrc) + ")");
+            }
+        }
+    }
+
+    /**
+     * {@link InflaterInputStream} inflating raw DEFLATE data from a {@link ByteBuffer}. Heap buffers are handed to the
+     * {@link Inflater} in place; others are read in chunks from a stream over the same data.
+     */
+    private static final class BufferInflaterInputStream extends InflaterInputStream {
+
+        /**
+         * The data, if handed to the {@link Inflater} in place, or else null
+         */
+        private final ByteBuffer source;
+
+        private boolean inputExhausted;
+
+        private BufferInflaterInputStream(final ByteBuffer source, final InputStream in) {
+            super(in, new Inflater(true), source.hasArray() ? 1 : CHUNK_SIZE);
+            this.source = source.hasArray() ? source : null;
+        }
+
+        @Override
+        protected void fill() throws IOException {
+            if (inputExhausted) {
+                throw new EOFException("Unexpected end of ZLIB input stream");
+            }
+            if (source != null && source.hasRemaining()) {
+                final int count = source.remaining();
+                inf.setInput(source.array(), source.arrayOffset() + source.position(), count);
+                ((Buffer) source).position(source.limit());
+                return;
+            }
+            len = source != null ? -1 : in.read(buf, 0, buf.length);
+            if (len == -1) {
+                // A raw inflater may need one byte beyond the data to finish, as in ZipFile
+                buf[0] = 0;
+                len = 1;
+                inputExhausted = true;
+            }
+            inf.setInput(buf, 0, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                inf.end();
+            }
+        }
+    }
+}
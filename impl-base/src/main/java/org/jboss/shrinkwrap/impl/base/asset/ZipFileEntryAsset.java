@@ -17,26 +17,29 @@
 package org.jboss.shrinkwrap.impl.base.asset;
 
 import java.io.File;
-import java.io.IOException;
 import java.io.InputStream;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
 
 import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.asset.AssetMetadata;
 import org.jboss.shrinkwrap.impl.base.Validate;
 
 /**
  * Holds a reference to the ZipFile and the ZipEntry this Asset represents for lazy loading.
  * <p>
- * Used by the ZipImporter.
+ * Used by the ZipImporter, which shares a single {@link SharedZipFile} between all entries of an imported file.
  *
  * @author <a href="mailto:aslak@conduct.no">Aslak Knutsen</a>
  */
-public class ZipFileEntryAsset implements Asset {
-    private final File file;
+public class ZipFileEntryAsset implements Asset, AssetMetadata {
+    private final SharedZipFile file;
     private final ZipEntry entry;
 
     public ZipFileEntryAsset(final File file, final ZipEntry entry) {
+        this(new SharedZipFile(file), entry);
+    }
+
+    public ZipFileEntryAsset(final SharedZipFile file, final ZipEntry entry) {
         Validate.notNull(file, "File must be specified");
         Validate.notNull(entry, "Entry must be specified");
 
@@ -53,39 +56,39 @@ public class ZipFileEntryAsset implements Asset {
     // TODO: create AssetStreamException ?
     public InputStream openStream() {
         try {
-            final ZipFile file = new ZipFile(this.file);
-            return new InputStreamWrapper(file, file.getInputStream(entry));
+            return file.openStream(entry);
         } catch (final Exception e) {
             throw new RuntimeException("Could not open zip file stream", e);
         }
     }
 
-    private static class InputStreamWrapper extends InputStream {
-
-        private final ZipFile file;
-        private final InputStream is;
-
-        private InputStreamWrapper(final ZipFile file, final InputStream is) {
-            this.file = file;
-            this.is = is;
-        }
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.asset.AssetMetadata#getContentLength()
+     */
+    @Override
+    public long getContentLength() {
+        return entry.getSize();
+    }
 
-        @Override
-        public int read() throws IOException {
-            return this.is.read();
-        }
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.asset.AssetMetadata#getContentCrc()
+     */
+    @Override
+    public long getContentCrc() {
+        return entry.getCrc();
+    }
 
-        @Override
-        public void close() throws IOException {
-            try {
-                try {
-                    this.is.close();
-                } finally {
-                    this.file.close();
-                }
-            } finally {
-                super.close();
-            }
-        }
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.asset.AssetMetadata#getLastModified()
+     */
+    @Override
+    public long getLastModified() {
+        return entry.getTime();
     }
 }
@@ -25,9 +25,14 @@ import java.net.URLDecoder;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ArchiveEventHandler;
@@ -509,6 +514,16 @@ public abstract class ContainerBase<T extends Archive<T>> extends AssignableBase
         return this.getArchive().getContent(filter);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.api.Archive#streamContent(org.jboss.shrinkwrap.api.Filter)
+     */
+    @Override
+    public Stream<Node> streamContent(Filter<ArchivePath> filter) {
+        return this.getArchive().streamContent(filter);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -1357,9 +1372,13 @@ public abstract class ContainerBase<T extends Archive<T>> extends AssignableBase
     public T addClasses(Class<?>... classes) throws IllegalArgumentException {
         Validate.notNull(classes, "Classes must be specified");
 
+        // Inner classes of the package of each ClassLoader, scanned once for all classes of the package
+        final Map<ClassLoader, Map<String, Map<String, Map<String, Asset>>>> innerClassesByLoader = new HashMap<>();
+
         for (final Class<?> clazz : classes) {
             Asset resource = new ClassAsset(clazz);
-            ArchivePath location = new BasicPath(getClassesPath(), AssetUtil.getFullPathForClassResource(clazz));
+            final ArchivePath classPath = AssetUtil.getFullPathForClassResource(clazz);
+            ArchivePath location = new BasicPath(getClassesPath(), classPath);
             add(resource, location);
 
             // SHRINKWRAP-335, account for classes loaded from the
@@ -1368,29 +1387,65 @@ public abstract class ContainerBase<T extends Archive<T>> extends AssignableBase
             final ClassLoader adjustedCl = loadingCl == null ? ClassLoader.getSystemClassLoader() : loadingCl;
 
             // Get all inner classes and add them
-            addPackages(false, new Filter<ArchivePath>() {
-                /**
-                 * path = /package/MyClass$Test.class <br/>
-                 * clazz = /package/MyClass.class <br/>
-                 *
-                 *
-                 * @param path
-                 *            The added classes
-                 * @return {@code true} if the path matches the pattern for the given class resource, {@code false} otherwise
-                 */
-                @Override
-                public boolean include(ArchivePath path) {
-                    ArchivePath classArchivePath = AssetUtil.getFullPathForClassResource(clazz);
-                    String expression = classArchivePath.get().replace(".class", "\\$.*");
-                    return path.get().matches(expression);
-                }
-            }, adjustedCl,
             // Assumes a null package is a class in the default package
-                clazz.getPackage() == null ? DEFAULT_PACKAGE_NAME : clazz.getPackage().getName());
+            final String packageName = clazz.getPackage() == null ? DEFAULT_PACKAGE_NAME : clazz.getPackage().getName();
+            final Map<String, Map<String, Asset>> innerClasses = innerClassesByLoader
+                .computeIfAbsent(adjustedCl, cl -> new HashMap<>())
+                .computeIfAbsent(packageName, name -> scanInnerClasses(adjustedCl, name));
+            for (final Map.Entry<String, Asset> innerClass : innerClasses.getOrDefault(outerClassKey(classPath.get()),
+                Collections.emptyMap()).entrySet()) {
+                add(innerClass.getValue(), new BasicPath(getClassesPath(), innerClass.getKey()));
+            }
         }
         return covariantReturn();
     }
 
+    /**
+     * Scans the specified package, not recursively, for inner classes.
+     *
+     * @param classLoader
+     *            The {@link ClassLoader} to scan
+     * @param packageName
+     *            The package to scan
+     * @return The inner classes found, as class resource paths to their assets in the order found, by the key of their
+     *         outer class
+     * @see ContainerBase#outerClassKey(String)
+     */
+    private static Map<String, Map<String, Asset>> scanInnerClasses(final ClassLoader classLoader,
+        final String packageName) {
+        final Map<String, Map<String, Asset>> innerClasses = new HashMap<>();
+        final URLPackageScanner.Callback callback = (className, asset) -> {
+            final String classNamePath = AssetUtil.getFullPathForClassResource(className).get();
+            final int nested = classNamePath.indexOf('$');
+            if (nested != -1) {
+                innerClasses.computeIfAbsent(classNamePath.substring(0, nested), key -> new LinkedHashMap<>()).put(
+                    classNamePath, asset);
+            }
+        };
+        URLPackageScanner.newInstance(false, classLoader, callback, packageName).scanPackage();
+        return innerClasses;
+    }
+
+    /**
+     * path = /package/MyClass$Test.class <br/>
+     * clazz = /package/MyClass.class <br/>
+     * The paths of the inner classes of a class start with the path of the class without its extension, followed by a
+     * {@code $}: both are keyed by that common part. As before, inner classes are only looked up for top-level
+     * classes.
+     *
+     * @param classPath
+     *            The path of a class resource
+     * @return The key of the class, under which its inner classes are found, or null for a class which is itself
+     *         nested
+     */
+    private static String outerClassKey(final String classPath) {
+        if (classPath.indexOf('$') != -1) {
+            return null;
+        }
+        final int extension = classPath.lastIndexOf(".class");
+        return extension == -1 ? classPath : classPath.substring(0, extension);
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -1583,15 +1638,22 @@ public abstract class ContainerBase<T extends Archive<T>> extends AssignableBase
     }
 
     private Set<ArchivePath> getInnerClasses(final ArchivePath path) {
-        Map<ArchivePath, Node> content = getContent(object -> {
-            String expression = path.get().replace(".class", "\\$.*");
-
-            return object.get().matches(expression);
-        });
+        final Pattern innerClasses = innerClassesOf(path);
+        Map<ArchivePath, Node> content = getContent(object -> innerClasses.matcher(object.get()).matches());
 
         return content.keySet();
     }
 
+    /**
+     * @param classPath
+     *            The path of a class resource, as /package/MyClass.class
+     * @return The pattern matching the paths of its inner classes, as /package/MyClass$Test.class; compiled once rather
+     *         than for every path tested
+     */
+    private static Pattern innerClassesOf(final ArchivePath classPath) {
+        return Pattern.compile(classPath.get().replace(".class", "\\$.*"));
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -16,8 +16,7 @@
  */
 package org.jboss.shrinkwrap.impl.base.exporter;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -29,8 +28,9 @@ import org.jboss.shrinkwrap.api.ArchivePath;
 import org.jboss.shrinkwrap.api.Node;
 import org.jboss.shrinkwrap.api.asset.Asset;
 import org.jboss.shrinkwrap.api.exporter.ArchiveExportException;
-import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+import org.jboss.shrinkwrap.impl.base.io.ExposedByteArrayOutputStream;
 import org.jboss.shrinkwrap.impl.base.path.PathUtil;
+import org.jboss.shrinkwrap.spi.Configurable;
 
 /**
  * Base for on-demand input streams. Encodes data on the fly, when read method is executed.
@@ -55,9 +55,14 @@ public abstract class AbstractOnDemandInputStream<T extends OutputStream> extend
     protected T outputStream;
 
     /**
-     * Base for outputStream.
+     * Base for outputStream. Encoded data is served directly from its backing array, without copying.
      */
-    private final ByteArrayOutputStream bufferedOutputStream = new ByteArrayOutputStream();
+    private final ExposedByteArrayOutputStream bufferedOutputStream = new ExposedByteArrayOutputStream(BUFFER_LENGTH);
+
+    /**
+     * Position of the next byte to be served from the buffer.
+     */
+    private int bufferPosition = 0;
 
     /**
      * Stream of currently processed Node.
@@ -65,20 +70,30 @@ public abstract class AbstractOnDemandInputStream<T extends OutputStream> extend
     private InputStream currentNodeStream;
 
     /**
-     * Stream to the buffer.
+     * Transfer buffer used to copy data from currentNodeStream to outputStream.
      */
-    private ByteArrayInputStream bufferInputStream;
+    private final byte[] copyBuffer = new byte[BUFFER_LENGTH];
 
     /**
      * If output stream was closed - we should finish.
      */
     private boolean outputStreamClosed = false;
 
+    /**
+     * If encoding was abandoned, after a failure or because this stream was closed early.
+     */
+    private boolean aborted = false;
+
     /**
      * Currently processed archive path - for displaying exception.
      */
     private ArchivePath currentPath = null;
 
+    /**
+     * Configured number of bytes buffered in memory before spilling to disk, or null if not configured.
+     */
+    private final Long diskBufferThreshold;
+
     /**
      * Creates stream directly from archive.
      *
@@ -88,25 +103,179 @@ public abstract class AbstractOnDemandInputStream<T extends OutputStream> extend
     public AbstractOnDemandInputStream(final Archive<?> archive) {
         final Collection<Node> nodes = archive.getContent().values();
         this.nodesIterator = nodes.iterator();
+        this.diskBufferThreshold = archive.as(Configurable.class).getConfiguration().getDiskBufferThreshold();
     }
 
     @Override
     public int read() throws IOException {
+        if (!fillBuffer()) {
+            return -1;
+        }
+        return bufferedOutputStream.buffer()[bufferPosition++] & 0xff;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (b == null) {
+            throw new NullPointerException();
+        }
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (!fillBuffer()) {
+            return -1;
+        }
+
+        final int count = Math.min(len, bufferedOutputStream.size() - bufferPosition);
+        System.arraycopy(bufferedOutputStream.buffer(), bufferPosition, b, off, count);
+        bufferPosition += count;
+        return count;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return bufferedOutputStream.size() - bufferPosition;
+    }
+
+    /**
+     * Closes the stream of the asset being encoded, if any, and aborts the encoding if the archive has not been read
+     * in full.
+     *
+     * @see java.io.InputStream#close()
+     */
+    @Override
+    public void close() throws IOException {
+        abortEncoding();
+    }
+
+    /**
+     * Writes all remaining encoded data to the specified {@link OutputStream}. If nothing has been read from this
+     * stream yet, the archive is encoded directly into the target, bypassing the internal buffer entirely; otherwise
+     * the remaining chunks are served straight from the internal buffer. The target is flushed but not closed.
+     *
+     * @param out
+     *            The stream to write to
+     * @return The number of bytes transferred
+     * @throws IOException
+     *             If an I/O error occurs while reading or writing
+     */
+    public long transferTo(final OutputStream out) throws IOException {
+        if (out == null) {
+            throw new NullPointerException("out");
+        }
+
+        if (outputStream == null && !outputStreamClosed) {
+            // Nothing encoded yet, so push straight into the target
+            final DirectOutputStream direct = new DirectOutputStream(out);
+            encodeTo(direct);
+            out.flush();
+            return direct.count;
+        }
+
+        long transferred = 0;
+        while (fillBuffer()) {
+            final int count = bufferedOutputStream.size() - bufferPosition;
+            out.write(bufferedOutputStream.buffer(), bufferPosition, count);
+            bufferPosition += count;
+            transferred += count;
+        }
+        out.flush();
+        return transferred;
+    }
+
+    /**
+     * Encodes all nodes of the archive in a single pass into the specified target.
+     *
+     * @param target
+     *            The stream to be wrapped by the encoding {@link OutputStream}
+     * @throws IOException
+     *             If an I/O error occurs while encoding
+     */
+    private void encodeTo(final OutputStream target) throws IOException {
+        outputStream = createOutputStream(target);
+
+        try {
+            while (nodesIterator.hasNext()) {
+                final Node currentNode = nodesIterator.next();
+
+                currentPath = currentNode.getPath();
+                final String pathName = PathUtil.optionallyRemovePrecedingSlash(currentPath.get());
+                final Asset asset = currentNode.getAsset();
+
+                if (asset == null) {
+                    startAsset(PathUtil.optionallyAppendSlash(pathName), null);
+                    endAsset();
+                } else {
+                    try (InputStream in = openStream(asset)) {
+                        startAsset(pathName, asset);
+                        int read;
+                        while ((read = in.read(copyBuffer)) != -1) {
+                            outputStream.write(copyBuffer, 0, read);
+                        }
+                    } catch (final Throwable t) {
+                        throw new ArchiveExportException("Failed to write asset to output: " + currentPath.get(), t);
+                    }
+                    endAsset();
+                }
+            }
+
+            outputStream.close();
+        } catch (final Throwable t) {
+            abortEncoding();
+            throw t;
+        }
+        outputStreamClosed = true;
+        outputStream = null;
+    }
+
+    /**
+     * Ensures there is unread encoded data in the buffer, advancing through the archive nodes as required.
+     *
+     * @return false if the whole archive has been encoded and read
+     * @throws IOException
+     *             If an I/O error occurs while encoding
+     */
+    private boolean fillBuffer() throws IOException {
+        if (bufferPosition < bufferedOutputStream.size()) {
+            return true;
+        }
+        if (aborted) {
+            throw new IOException("Stream closed");
+        }
+
+        // Buffer was fully consumed, start over
+        bufferedOutputStream.reset();
+        bufferPosition = 0;
 
         if (outputStream == null && !outputStreamClosed) {
             // first run
             outputStream = createOutputStream(bufferedOutputStream);
         }
 
-        int value = bufferInputStream != null ? bufferInputStream.read() : -1;
-        if (value == -1) {
+        try {
+            return encodeNext();
+        } catch (final Throwable t) {
+            abortEncoding();
+            throw t;
+        }
+    }
+
+    /**
+     * Encodes into the empty buffer until it holds some data, or the whole archive has been encoded.
+     *
+     * @return false if the whole archive has been encoded and read
+     * @throws IOException
+     *             If an I/O error occurs while encoding
+     */
+    private boolean encodeNext() throws IOException {
+        while (bufferedOutputStream.size() == 0) {
             if (currentNodeStream != null) {
                 // current node was not processed completely
                 try {
                     doCopy();
-                    bufferInputStream = new ByteArrayInputStream(bufferedOutputStream.toByteArray());
-                    bufferedOutputStream.reset();
-                    return this.read();
                 } catch (final Throwable t) {
                     throw new ArchiveExportException("Failed to write asset to output: " + currentPath.get(), t);
                 }
@@ -125,42 +294,27 @@ public abstract class AbstractOnDemandInputStream<T extends OutputStream> extend
                     startAsset(resolvedPath, currentNode.getAsset());
                     endAsset();
                 } else {
-                    startAsset(resolvedPath, currentNode.getAsset());
-
                     try {
-                        currentNodeStream = currentNode.getAsset().openStream();
+                        currentNodeStream = openStream(currentNode.getAsset());
+                        startAsset(resolvedPath, currentNode.getAsset());
                         doCopy();
                     } catch (final Throwable t) {
                         throw new ArchiveExportException("Failed to write asset to output: " + currentPath.get(), t);
                     }
-                    bufferInputStream = new ByteArrayInputStream(bufferedOutputStream.toByteArray());
-                    bufferedOutputStream.reset();
                 }
-
+            } else if (!outputStreamClosed) {
+                // each node was processed, now process what is saved on close
+                outputStream.close();
+                outputStreamClosed = true;
+                outputStream = null;
+                currentNodeStream = null;
             } else {
-                // each node was processed
-                if (!outputStreamClosed) {
-                    outputStream.close();
-                    outputStreamClosed = true;
-
-                    // output closed, now process what was saved on close
-                    bufferInputStream = new ByteArrayInputStream(bufferedOutputStream.toByteArray());
-                    bufferedOutputStream.close();
-
-                    currentNodeStream = null;
-                    outputStream = null;
-                    return this.read();
-                }
-
                 // everything was read, end
-                return -1;
+                return false;
             }
-
-            // chosen new node or new data in buffer - read again
-            return this.read();
         }
 
-        return value;
+        return true;
     }
 
     /**
@@ -170,14 +324,72 @@ public abstract class AbstractOnDemandInputStream<T extends OutputStream> extend
      *             If an I/O error occurs during the copy operation
      */
     private void doCopy() throws IOException {
-        int copied = IOUtil.copy(currentNodeStream, outputStream, BUFFER_LENGTH);
-        if (copied == -1) {
+        final int copied = currentNodeStream.read(copyBuffer);
+        if (copied > 0) {
+            outputStream.write(copyBuffer, 0, copied);
+            outputStream.flush();
+        } else if (copied == -1) {
             currentNodeStream.close();
             currentNodeStream = null;
             endAsset();
         }
     }
 
+    /**
+     * Closes the stream of the asset being encoded, if any, and aborts the encoding stream unless it was completed.
+     * Exceptions are suppressed, as this only runs after a failure or when the caller gives up on the stream.
+     */
+    private void abortEncoding() {
+        if (currentNodeStream != null) {
+            try {
+                currentNodeStream.close();
+            } catch (final IOException ignore) {
+                // Nothing more to read from it
+            }
+            currentNodeStream = null;
+        }
+        if (!outputStreamClosed) {
+            aborted = true;
+            if (outputStream != null) {
+                try {
+                    abort(outputStream);
+                } catch (final IOException ignore) {
+                    // The encoded data is discarded anyway
+                }
+            }
+        }
+        outputStreamClosed = true;
+        outputStream = null;
+        bufferedOutputStream.reset();
+        bufferPosition = 0;
+    }
+
+    /**
+     * Opens the stream from which the content of the specified asset is written. Called exactly once per asset, before
+     * its entry is started; by default, opens the asset itself.
+     *
+     * @param asset
+     *            The asset to be written
+     * @return The stream of content to write
+     * @throws IOException
+     *             If an I/O error occurs while opening the stream
+     */
+    protected InputStream openStream(final Asset asset) throws IOException {
+        return asset.openStream();
+    }
+
+    /**
+     * Obtains the number of bytes of content of unknown size to buffer in memory before spilling to disk, as
+     * configured for the archive.
+     *
+     * @param defaultThreshold
+     *            The threshold to use if none is configured
+     * @return The threshold in bytes
+     */
+    protected long getDiskBufferThreshold(final long defaultThreshold) {
+        return diskBufferThreshold != null ? diskBufferThreshold : defaultThreshold;
+    }
+
     /**
      * Start entry in stream.
      *
@@ -202,6 +414,18 @@ public abstract class AbstractOnDemandInputStream<T extends OutputStream> extend
         closeEntry(outputStream);
     }
 
+    /**
+     * Releases the resources held by the specified encoding {@link OutputStream} without completing the archive, after
+     * an asset failed to be written or when this stream is closed before being read in full. Does nothing by default.
+     *
+     * @param outputStream
+     *            The output stream to abort
+     * @throws IOException
+     *             If an error occurred releasing the stream
+     */
+    protected void abort(final T outputStream) throws IOException {
+    }
+
     /**
      * Creates the real {@link OutputStream} to which we'll write, wrapping the provided target.
      *
@@ -234,4 +458,34 @@ public abstract class AbstractOnDemandInputStream<T extends OutputStream> extend
      *            The output stream to close the entry for
      */
     protected abstract void closeEntry(T outputStream) throws IOException;
+
+    /**
+     * Pass-through to the push target: forwards bulk writes as-is, counts them, and shields the target from being
+     * closed along with the encoding stream.
+     */
+    private static final class DirectOutputStream extends FilterOutputStream {
+
+        private long count = 0;
+
+        DirectOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
 }
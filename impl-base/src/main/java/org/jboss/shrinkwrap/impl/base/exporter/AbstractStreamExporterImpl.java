@@ -16,6 +16,7 @@
  */
 package org.jboss.shrinkwrap.impl.base.exporter;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
@@ -47,6 +48,11 @@ public abstract class AbstractStreamExporterImpl extends AssignableBase<Archive<
      */
     private static final Logger log = Logger.getLogger(AbstractStreamExporterImpl.class.getName());
 
+    /**
+     * Size of the buffer used when exporting to a {@link File}; encoders emit small chunks
+     */
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+
     // -------------------------------------------------------------------------------------||
     // Constructor ------------------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
@@ -116,7 +122,12 @@ public abstract class AbstractStreamExporterImpl extends AssignableBase<Archive<
         try (InputStream in = this.exportAsInputStream()) {
             // Write out
             try {
-                IOUtil.copy(in, target);
+                if (in instanceof AbstractOnDemandInputStream) {
+                    // Encode straight into the target, no intermediate buffer
+                    ((AbstractOnDemandInputStream<?>) in).transferTo(target);
+                } else {
+                    IOUtil.copy(in, target);
+                }
             } catch (final IOException e) {
                 throw new ArchiveExportException("Error encountered in exporting archive to " + target, e);
             }
@@ -135,7 +146,8 @@ public abstract class AbstractStreamExporterImpl extends AssignableBase<Archive<
     public final void exportTo(final File target, final boolean overwrite) throws ArchiveExportException,
         FileExistsException {
         // Get stream and perform precondition checks
-        try (OutputStream out = this.getOutputStreamToFile(target, overwrite)) {
+        try (OutputStream out = new BufferedOutputStream(this.getOutputStreamToFile(target, overwrite),
+            FILE_BUFFER_SIZE)) {
             // Write out
             this.exportTo(out);
         } catch (final IOException ioe) {
@@ -22,8 +22,8 @@ import java.io.OutputStream;
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.asset.Asset;
 import org.jboss.shrinkwrap.impl.base.exporter.AbstractOnDemandInputStream;
+import org.jboss.shrinkwrap.impl.base.io.SpoolBuffer;
 import org.jboss.shrinkwrap.impl.base.io.tar.TarBzOutputStream;
-import org.jboss.shrinkwrap.impl.base.io.tar.TarEntry;
 
 /**
  * TarBz on demand input stream.
@@ -46,7 +46,7 @@ class TarBz2OnDemandInputStream extends AbstractOnDemandInputStream<TarBzOutputS
     @Override
     protected TarBzOutputStream createOutputStream(OutputStream outputStream)
             throws IOException {
-        return new TarBzOutputStream(outputStream);
+        return new TarBzOutputStream(outputStream, getDiskBufferThreshold(SpoolBuffer.DEFAULT_THRESHOLD));
     }
 
     @Override
@@ -54,10 +54,14 @@ class TarBz2OnDemandInputStream extends AbstractOnDemandInputStream<TarBzOutputS
         outputStream.closeEntry();
     }
 
+    @Override
+    protected void abort(final TarBzOutputStream outputStream) {
+        outputStream.abort();
+    }
+
     @Override
     protected void putNextEntry(TarBzOutputStream outputStream, String context, final Asset asset)
             throws IOException {
-        final TarEntry entry = new TarEntry(context);
-        outputStream.putNextEntry(entry);
+        outputStream.putNextEntry(TarOnDemandInputStreamBase.createEntry(context, asset));
     }
 }
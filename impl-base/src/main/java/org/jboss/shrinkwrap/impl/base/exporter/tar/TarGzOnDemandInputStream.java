@@ -19,7 +19,7 @@ package org.jboss.shrinkwrap.impl.base.exporter.tar;
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.asset.Asset;
 import org.jboss.shrinkwrap.impl.base.exporter.AbstractOnDemandInputStream;
-import org.jboss.shrinkwrap.impl.base.io.tar.TarEntry;
+import org.jboss.shrinkwrap.impl.base.io.SpoolBuffer;
 import org.jboss.shrinkwrap.impl.base.io.tar.TarGzOutputStream;
 
 import java.io.IOException;
@@ -44,7 +44,7 @@ class TarGzOnDemandInputStream extends AbstractOnDemandInputStream<TarGzOutputSt
 
     @Override
     protected TarGzOutputStream createOutputStream(final OutputStream outputStream) throws IOException {
-        return new TarGzOutputStream(outputStream);
+        return new TarGzOutputStream(outputStream, getDiskBufferThreshold(SpoolBuffer.DEFAULT_THRESHOLD));
     }
 
     @Override
@@ -52,9 +52,13 @@ class TarGzOnDemandInputStream extends AbstractOnDemandInputStream<TarGzOutputSt
         outputStream.closeEntry();
     }
 
+    @Override
+    protected void abort(final TarGzOutputStream outputStream) {
+        outputStream.abort();
+    }
+
     @Override
     protected void putNextEntry(final TarGzOutputStream outputStream, final String context, final Asset asset) throws IOException {
-        final TarEntry entry = new TarEntry(context);
-        outputStream.putNextEntry(entry);
+        outputStream.putNextEntry(TarOnDemandInputStreamBase.createEntry(context, asset));
     }
 }
\ No newline at end of file
@@ -19,6 +19,7 @@ package org.jboss.shrinkwrap.impl.base.exporter.tar;
 import java.io.OutputStream;
 
 import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.impl.base.io.SpoolBuffer;
 import org.jboss.shrinkwrap.impl.base.io.tar.TarOutputStream;
 
 /**
@@ -40,6 +41,11 @@ class TarOnDemandInputStream extends TarOnDemandInputStreamBase<TarOutputStream>
 
     @Override
     protected TarOutputStream createOutputStream(final OutputStream outputStream) {
-        return new TarOutputStream(outputStream);
+        return new TarOutputStream(outputStream, getDiskBufferThreshold(SpoolBuffer.DEFAULT_THRESHOLD));
+    }
+
+    @Override
+    protected void abort(final TarOutputStream outputStream) {
+        outputStream.abort();
     }
 }
@@ -20,6 +20,7 @@ import java.io.IOException;
 
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.impl.base.asset.AssetUtil;
 import org.jboss.shrinkwrap.impl.base.exporter.AbstractOnDemandInputStream;
 import org.jboss.shrinkwrap.impl.base.io.tar.TarEntry;
 import org.jboss.shrinkwrap.impl.base.io.tar.TarOutputStreamImpl;
@@ -48,7 +49,25 @@ abstract class TarOnDemandInputStreamBase<T extends TarOutputStreamImpl> extends
 
     @Override
     protected void putNextEntry(final TarOutputStreamImpl outputStream, final String context, final Asset asset) throws IOException {
+        outputStream.putNextEntry(createEntry(context, asset));
+    }
+
+    /**
+     * Creates the entry for the specified asset. Entries of known size are streamed straight through, others are
+     * buffered until closed.
+     *
+     * @param context
+     *             The context or path of the entry
+     * @param asset
+     *             The asset to be written, or null for a directory
+     * @return The entry, with its size set if known
+     */
+    static TarEntry createEntry(final String context, final Asset asset) {
         final TarEntry entry = new TarEntry(context);
-        outputStream.putNextEntry(entry);
+        final long size = AssetUtil.getContentLength(asset);
+        if (asset != null && size > 0) {
+            entry.setSize(size);
+        }
+        return entry;
     }
 }
\ No newline at end of file
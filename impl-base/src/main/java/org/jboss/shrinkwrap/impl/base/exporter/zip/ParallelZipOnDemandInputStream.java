@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.exporter.zip;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.impl.base.exporter.AbstractOnDemandInputStream;
+
+/**
+ * ZIP on demand input stream deflating entries concurrently on an {@link ExecutorService}.
+ */
+class ParallelZipOnDemandInputStream extends AbstractOnDemandInputStream<ParallelZipOutputStream> {
+
+    /**
+     * Number of entries allowed in flight per available processor
+     */
+    private static final int ENTRIES_PER_PROCESSOR = 2;
+
+    private final ExecutorService executorService;
+
+    /**
+     * Creates stream directly from archive, compressing on the specified executor.
+     *
+     * @param archive
+     *             The {@link Archive} to be read and compressed.
+     * @param executorService
+     *             The {@link ExecutorService} to compress entries on.
+     */
+    ParallelZipOnDemandInputStream(final Archive<?> archive, final ExecutorService executorService) {
+        super(archive);
+        this.executorService = executorService;
+    }
+
+    @Override
+    protected ParallelZipOutputStream createOutputStream(final OutputStream outputStream) {
+        final int window = Runtime.getRuntime().availableProcessors() * ENTRIES_PER_PROCESSOR;
+        return new ParallelZipOutputStream(outputStream, executorService, window);
+    }
+
+    @Override
+    protected void closeEntry(final ParallelZipOutputStream outputStream) throws IOException {
+        outputStream.closeEntry();
+    }
+
+    @Override
+    protected void abort(final ParallelZipOutputStream outputStream) throws IOException {
+        outputStream.abort();
+    }
+
+    @Override
+    protected void putNextEntry(final ParallelZipOutputStream outputStream, final String context, final Asset asset)
+        throws IOException {
+        outputStream.putNextEntry(context);
+    }
+}
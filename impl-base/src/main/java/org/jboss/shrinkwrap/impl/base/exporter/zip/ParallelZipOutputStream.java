@@ -0,0 +1,630 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.exporter.zip;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * ZIP {@link OutputStream} which deflates entries concurrently on an {@link ExecutorService}. Entry data is collected
+ * on the calling thread; once an entry is closed, its CRC and compressed form are computed by the executor while the
+ * caller proceeds with the next entry. Compressed entries are written in the order they were put, so the output is
+ * independent of scheduling. At most <code>window</code> entries are in flight at any time, bounding memory usage.
+ * <p>
+ * An entry growing beyond the streaming threshold is not collected any further: once the entries before it are
+ * written, it is deflated on the calling thread straight into the target, followed by a data descriptor, as
+ * {@link java.util.zip.ZipOutputStream} does. Entries of any size are thus supported, with memory usage bounded by the
+ * window and the threshold.
+ * <p>
+ * All entries share the timestamp taken when the stream is created. Entries, offsets and archives beyond 4 GB, and
+ * archives with more than 65535 entries, are written in ZIP64 format.
+ */
+class ParallelZipOutputStream extends OutputStream {
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int END_SIGNATURE = 0x06054b50;
+
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+
+    private static final int VERSION_STORED = 10;
+    private static final int VERSION_DEFLATED = 20;
+    private static final int VERSION_ZIP64 = 45;
+
+    /**
+     * General purpose flag: names are encoded in UTF-8, as {@link java.util.zip.ZipOutputStream} does by default
+     */
+    private static final int FLAG_UTF8 = 0x800;
+
+    /**
+     * General purpose flag: CRC and sizes follow the data in a data descriptor
+     */
+    private static final int FLAG_DATA_DESCRIPTOR = 0x8;
+
+    private static final int METHOD_STORED = 0;
+    private static final int METHOD_DEFLATED = 8;
+
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+
+    /**
+     * Default size beyond which an entry is deflated on the calling thread instead of being collected
+     */
+    static final int DEFAULT_STREAMING_THRESHOLD = 8 * 1024 * 1024;
+
+    /**
+     * Target of the encoded archive
+     */
+    private final OutputStream out;
+
+    /**
+     * Executor compressing the entries
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Maximum number of entries being compressed at once
+     */
+    private final int window;
+
+    /**
+     * Size beyond which an entry is deflated on the calling thread
+     */
+    private final int streamingThreshold;
+
+    /**
+     * Timestamp of all entries, in MS-DOS format
+     */
+    private final long dosTime;
+
+    /**
+     * Entries submitted for compression, in archive order
+     */
+    private final Deque<Future<CompressedEntry>> pending = new ArrayDeque<>();
+
+    /**
+     * Entries written so far, for the central directory
+     */
+    private final List<CompressedEntry> written = new ArrayList<>();
+
+    /**
+     * Name of the entry currently being collected
+     */
+    private String currentName;
+
+    /**
+     * Data of the entry currently being collected
+     */
+    private ByteArrayOutputStream currentData;
+
+    /**
+     * The entry currently being deflated on the calling thread, or null
+     */
+    private CompressedEntry streamed;
+
+    private Deflater streamedDeflater;
+
+    private CRC32 streamedCrc;
+
+    private final byte[] deflateBuffer = new byte[8192];
+
+    private final byte[] singleByte = new byte[1];
+
+    /**
+     * Number of bytes written to the target
+     */
+    private long offset = 0;
+
+    private boolean closed = false;
+
+    /**
+     * Creates a new stream writing to the specified target.
+     *
+     * @param out
+     *            The target of the encoded archive
+     * @param executor
+     *            The {@link ExecutorService} to compress entries on
+     * @param window
+     *            Maximum number of entries being compressed at once
+     */
+    ParallelZipOutputStream(final OutputStream out, final ExecutorService executor, final int window) {
+        this(out, executor, window, System.currentTimeMillis(), DEFAULT_STREAMING_THRESHOLD);
+    }
+
+    /**
+     * Creates a new stream writing to the specified target.
+     *
+     * @param out
+     *            The target of the encoded archive
+     * @param executor
+     *            The {@link ExecutorService} to compress entries on
+     * @param window
+     *            Maximum number of entries being compressed at once
+     * @param time
+     *            The timestamp of all entries, in milliseconds since the epoch
+     * @param streamingThreshold
+     *            Size beyond which an entry is deflated on the calling thread
+     */
+    ParallelZipOutputStream(final OutputStream out, final ExecutorService executor, final int window,
+        final long time, final int streamingThreshold) {
+        assert out != null : "out must be specified";
+        assert executor != null : "executor must be specified";
+        assert window > 0 : "window must be positive";
+        assert streamingThreshold >= 0 : "streamingThreshold must not be negative";
+        this.out = out;
+        this.executor = executor;
+        this.window = window;
+        this.streamingThreshold = streamingThreshold;
+        this.dosTime = toDosTime(time);
+    }
+
+    /**
+     * Begins a new entry; the current one, if any, is closed first. Names ending with '/' denote directories.
+     *
+     * @param name
+     *            The name of the entry
+     * @throws IOException
+     *             If an I/O error occurs
+     */
+    void putNextEntry(final String name) throws IOException {
+        ensureOpen();
+        if (currentName != null) {
+            closeEntry();
+        }
+        currentName = name;
+        currentData = new ByteArrayOutputStream();
+    }
+
+    /**
+     * Hands the current entry over to the executor for compression, then writes out all leading entries that are
+     * already compressed. Blocks if the maximum number of entries is in flight. An entry being deflated on the calling
+     * thread is finished instead.
+     *
+     * @throws IOException
+     *             If an I/O error occurs
+     */
+    void closeEntry() throws IOException {
+        ensureOpen();
+        if (currentName == null) {
+            return;
+        }
+        if (streamed != null) {
+            finishStreamed();
+            return;
+        }
+
+        final String name = currentName;
+        final ByteArrayOutputStream data = currentData;
+        currentName = null;
+        currentData = null;
+
+        try {
+            pending.add(executor.submit(() -> compress(name, data)));
+        } catch (final RejectedExecutionException ree) {
+            throw new IOException("Could not schedule compression of " + name, ree);
+        }
+
+        // Write out whatever is ready, waiting for the oldest entry if the window is full
+        while (!pending.isEmpty() && (pending.peek().isDone() || pending.size() > window)) {
+            writeEntry(take());
+        }
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        singleByte[0] = (byte) b;
+        write(singleByte, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        ensureEntry();
+        if (streamed == null && (long) currentData.size() + len > streamingThreshold) {
+            startStreamed();
+        }
+        if (streamed != null) {
+            deflateStreamed(b, off, len);
+        } else {
+            currentData.write(b, off, len);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Closes the current entry, waits for all pending entries, writes the central directory and closes the target.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            closeEntry();
+            while (!pending.isEmpty()) {
+                writeEntry(take());
+            }
+            writeCentralDirectory();
+            out.flush();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Discards the current and all pending entries without writing the central directory, and closes the target.
+     * Used when the archive could not be encoded in full; the output written so far is not a valid archive.
+     *
+     * @throws IOException
+     *             If an I/O error occurs closing the target
+     */
+    void abort() throws IOException {
+        if (closed) {
+            return;
+        }
+        release();
+    }
+
+    /**
+     * Cancels all pending entries, frees the deflater of the streamed entry, if any, and closes the target.
+     */
+    private void release() throws IOException {
+        closed = true;
+        currentName = null;
+        currentData = null;
+        for (final Future<CompressedEntry> future : pending) {
+            future.cancel(true);
+        }
+        pending.clear();
+        if (streamedDeflater != null) {
+            streamedDeflater.end();
+            streamedDeflater = null;
+        }
+        out.close();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private void ensureEntry() throws IOException {
+        ensureOpen();
+        if (currentName == null) {
+            throw new IOException("No current entry");
+        }
+    }
+
+    /**
+     * Waits for and removes the oldest pending entry.
+     */
+    private CompressedEntry take() throws IOException {
+        final Future<CompressedEntry> future = pending.poll();
+        try {
+            return future.get();
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for compressed entry", ie);
+        } catch (final ExecutionException ee) {
+            throw new IOException("Could not compress entry", ee.getCause());
+        }
+    }
+
+    /**
+     * Computes the CRC and compressed form of an entry; run by the executor.
+     */
+    private static CompressedEntry compress(final String name, final ByteArrayOutputStream data) {
+        final byte[] content = data.toByteArray();
+        final CRC32 crc = new CRC32();
+        crc.update(content, 0, content.length);
+
+        // Directories and empty files are stored
+        if (content.length == 0) {
+            return new CompressedEntry(name, METHOD_STORED, 0, crc.getValue(), 0, content, 0);
+        }
+
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(content);
+            deflater.finish();
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, content.length / 2));
+            final byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                final int len = deflater.deflate(buffer);
+                compressed.write(buffer, 0, len);
+            }
+            return new CompressedEntry(name, METHOD_DEFLATED, 0, crc.getValue(), content.length,
+                compressed.toByteArray(), compressed.size());
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Writes the local file header and data of an entry.
+     */
+    private void writeEntry(final CompressedEntry entry) throws IOException {
+        writeLocalHeader(entry);
+        writeBytes(entry.data, 0, (int) entry.compressedSize);
+
+        // Release the data, only the metadata is needed for the central directory
+        entry.data = null;
+        written.add(entry);
+    }
+
+    /**
+     * Writes the local file header of an entry, recording its offset.
+     */
+    private void writeLocalHeader(final CompressedEntry entry) throws IOException {
+        entry.offset = offset;
+
+        // The sizes of a streamed entry are not known yet and may exceed 4 GB, so announce ZIP64 up front
+        final boolean zip64 = (entry.flags & FLAG_DATA_DESCRIPTOR) != 0;
+        final int extraLength = zip64 ? 4 + 16 : 0;
+        final int version = zip64 ? VERSION_ZIP64
+            : (entry.method == METHOD_DEFLATED ? VERSION_DEFLATED : VERSION_STORED);
+
+        final ByteBuffer header = header(LOCAL_HEADER_SIZE + entry.name.length + extraLength);
+        header.putInt(LOCAL_HEADER_SIGNATURE);
+        header.putShort((short) version);
+        header.putShort((short) (FLAG_UTF8 | entry.flags));
+        header.putShort((short) entry.method);
+        header.putInt((int) dosTime);
+        header.putInt((int) entry.crc);
+        header.putInt((int) entry.compressedSize);
+        header.putInt((int) entry.size);
+        header.putShort((short) entry.name.length);
+        header.putShort((short) extraLength);
+        header.put(entry.name);
+        if (zip64) {
+            // Sizes are zero here, the data descriptor holds the actual ones
+            header.putShort((short) ZIP64_EXTRA_ID);
+            header.putShort((short) 16);
+            header.putLong(0);
+            header.putLong(0);
+        }
+        writeHeader(header);
+    }
+
+    /**
+     * Switches the current entry to being deflated on the calling thread, once all entries before it are written.
+     */
+    private void startStreamed() throws IOException {
+        while (!pending.isEmpty()) {
+            writeEntry(take());
+        }
+
+        // CRC and sizes are not known yet, they follow the data
+        streamed = new CompressedEntry(currentName, METHOD_DEFLATED, FLAG_DATA_DESCRIPTOR, 0, 0, null, 0);
+        writeLocalHeader(streamed);
+        streamedDeflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        streamedCrc = new CRC32();
+
+        final ByteArrayOutputStream collected = currentData;
+        currentData = null;
+        deflateStreamed(collected.toByteArray(), 0, collected.size());
+    }
+
+    private void deflateStreamed(final byte[] b, final int off, final int len) throws IOException {
+        streamedCrc.update(b, off, len);
+        streamedDeflater.setInput(b, off, len);
+        while (!streamedDeflater.needsInput()) {
+            final int deflated = streamedDeflater.deflate(deflateBuffer);
+            writeBytes(deflateBuffer, 0, deflated);
+        }
+    }
+
+    /**
+     * Finishes the entry being deflated on the calling thread and writes its data descriptor.
+     */
+    private void finishStreamed() throws IOException {
+        final CompressedEntry entry = streamed;
+        final Deflater deflater = streamedDeflater;
+        streamed = null;
+        streamedDeflater = null;
+        currentName = null;
+        try {
+            deflater.finish();
+            while (!deflater.finished()) {
+                final int deflated = deflater.deflate(deflateBuffer);
+                writeBytes(deflateBuffer, 0, deflated);
+            }
+            entry.crc = streamedCrc.getValue();
+            entry.size = deflater.getBytesRead();
+            entry.compressedSize = deflater.getBytesWritten();
+        } finally {
+            deflater.end();
+            streamedCrc = null;
+        }
+
+        final boolean zip64 = entry.size >= ZIP64_MAGIC || entry.compressedSize >= ZIP64_MAGIC;
+        final ByteBuffer descriptor = header(zip64 ? 24 : 16);
+        descriptor.putInt(DATA_DESCRIPTOR_SIGNATURE);
+        descriptor.putInt((int) entry.crc);
+        if (zip64) {
+            descriptor.putLong(entry.compressedSize);
+            descriptor.putLong(entry.size);
+        } else {
+            descriptor.putInt((int) entry.compressedSize);
+            descriptor.putInt((int) entry.size);
+        }
+        writeHeader(descriptor);
+        written.add(entry);
+    }
+
+    /**
+     * Writes the central directory and end of central directory records.
+     */
+    private void writeCentralDirectory() throws IOException {
+        final long centralOffset = offset;
+        for (final CompressedEntry entry : written) {
+            final boolean zip64Size = entry.size >= ZIP64_MAGIC;
+            final boolean zip64CompressedSize = entry.compressedSize >= ZIP64_MAGIC;
+            final boolean zip64Offset = entry.offset >= ZIP64_MAGIC;
+            final int zip64Fields = (zip64Size ? 1 : 0) + (zip64CompressedSize ? 1 : 0) + (zip64Offset ? 1 : 0);
+            final int extraLength = zip64Fields == 0 ? 0 : 4 + 8 * zip64Fields;
+            final int version = zip64Fields > 0 || (entry.flags & FLAG_DATA_DESCRIPTOR) != 0 ? VERSION_ZIP64
+                : (entry.method == METHOD_DEFLATED ? VERSION_DEFLATED : VERSION_STORED);
+
+            final ByteBuffer header = header(CENTRAL_HEADER_SIZE + entry.name.length + extraLength);
+            header.putInt(CENTRAL_HEADER_SIGNATURE);
+            header.putShort((short) (zip64Fields > 0 ? VERSION_ZIP64 : VERSION_DEFLATED));
+            header.putShort((short) version);
+            header.putShort((short) (FLAG_UTF8 | entry.flags));
+            header.putShort((short) entry.method);
+            header.putInt((int) dosTime);
+            header.putInt((int) entry.crc);
+            header.putInt((int) Math.min(entry.compressedSize, ZIP64_MAGIC));
+            header.putInt((int) Math.min(entry.size, ZIP64_MAGIC));
+            header.putShort((short) entry.name.length);
+            header.putShort((short) extraLength);
+            header.putShort((short) 0); // comment length
+            header.putShort((short) 0); // disk number
+            header.putShort((short) 0); // internal attributes
+            header.putInt(0); // external attributes
+            header.putInt((int) Math.min(entry.offset, ZIP64_MAGIC));
+            header.put(entry.name);
+            if (zip64Fields > 0) {
+                // Only the fields not fitting the header, in this order
+                header.putShort((short) ZIP64_EXTRA_ID);
+                header.putShort((short) (8 * zip64Fields));
+                if (zip64Size) {
+                    header.putLong(entry.size);
+                }
+                if (zip64CompressedSize) {
+                    header.putLong(entry.compressedSize);
+                }
+                if (zip64Offset) {
+                    header.putLong(entry.offset);
+                }
+            }
+            writeHeader(header);
+        }
+        final long centralSize = offset - centralOffset;
+        final int count = written.size();
+
+        final boolean zip64 = count >= ZIP64_MAGIC_COUNT || centralOffset >= ZIP64_MAGIC
+            || centralSize >= ZIP64_MAGIC;
+        final ByteBuffer end = header(zip64 ? 56 + 20 + 22 : 22);
+        if (zip64) {
+            final long zip64EndOffset = offset;
+            end.putInt(ZIP64_END_SIGNATURE);
+            end.putLong(44); // size of the remaining record
+            end.putShort((short) VERSION_ZIP64);
+            end.putShort((short) VERSION_ZIP64);
+            end.putInt(0); // disk number
+            end.putInt(0); // disk with the central directory
+            end.putLong(count);
+            end.putLong(count);
+            end.putLong(centralSize);
+            end.putLong(centralOffset);
+
+            end.putInt(ZIP64_LOCATOR_SIGNATURE);
+            end.putInt(0); // disk with the ZIP64 end record
+            end.putLong(zip64EndOffset);
+            end.putInt(1); // total number of disks
+        }
+        end.putInt(END_SIGNATURE);
+        end.putShort((short) 0); // disk number
+        end.putShort((short) 0); // disk with the central directory
+        end.putShort((short) Math.min(count, ZIP64_MAGIC_COUNT));
+        end.putShort((short) Math.min(count, ZIP64_MAGIC_COUNT));
+        end.putInt((int) Math.min(centralSize, ZIP64_MAGIC));
+        end.putInt((int) Math.min(centralOffset, ZIP64_MAGIC));
+        end.putShort((short) 0); // comment length
+        writeHeader(end);
+    }
+
+    /**
+     * @return A buffer of the specified capacity to assemble a header in, so that it is written at once
+     */
+    private static ByteBuffer header(final int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private void writeHeader(final ByteBuffer header) throws IOException {
+        writeBytes(header.array(), 0, header.position());
+    }
+
+    private void writeBytes(final byte[] b, final int off, final int len) throws IOException {
+        out.write(b, off, len);
+        offset += len;
+    }
+
+    /**
+     * Converts a Java timestamp to the MS-DOS date/time format used in ZIP headers
+     */
+    private static long toDosTime(final long time) {
+        final LocalDateTime ldt = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+        if (ldt.getYear() < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return ((long) (ldt.getYear() - 1980) << 25) | (ldt.getMonthValue() << 21) | (ldt.getDayOfMonth() << 16)
+            | (ldt.getHour() << 11) | (ldt.getMinute() << 5) | (ldt.getSecond() >> 1);
+    }
+
+    /**
+     * An entry after compression, prior to being written
+     */
+    private static final class CompressedEntry {
+        private final byte[] name;
+        private final int method;
+        private final int flags;
+        private long crc;
+        private long size;
+        private long compressedSize;
+        private byte[] data;
+        private long offset;
+
+        CompressedEntry(final String name, final int method, final int flags, final long crc, final long size,
+            final byte[] data, final long compressedSize) {
+            this.name = name.getBytes(StandardCharsets.UTF_8);
+            this.method = method;
+            this.flags = flags;
+            this.crc = crc;
+            this.size = size;
+            this.data = data;
+            this.compressedSize = compressedSize;
+        }
+    }
+}
@@ -21,6 +21,7 @@ import org.jboss.shrinkwrap.api.ArchivePath;
 import org.jboss.shrinkwrap.api.Node;
 import org.jboss.shrinkwrap.impl.base.exporter.AbstractExporterDelegate;
 
+import java.util.concurrent.ExecutorService;
 import java.util.zip.ZipOutputStream;
 
 import java.io.InputStream;
@@ -35,27 +36,30 @@ class ZipExporterDelegate extends AbstractExporterDelegate<InputStream> {
 
     private final boolean compressed;
 
-    protected ZipExporterDelegate(final Archive<?> archive) {
-        super(archive);
-        compressed = true;
+    /**
+     * Executor to compress entries on, or null to compress on the calling thread
+     */
+    private final ExecutorService executorService;
 
-        // Precondition check
-        if (archive.getContent().isEmpty()) {
-            throw new IllegalArgumentException(
-                "[SHRINKWRAP-93] Cannot use this JDK-based implementation to export as ZIP an archive with no content: "
-                    + archive);
-        }
+    protected ZipExporterDelegate(final Archive<?> archive) {
+        this(archive, true, null);
     }
 
     protected ZipExporterDelegate(final Archive<?> archive, final boolean compressed) {
+        this(archive, compressed, null);
+    }
+
+    protected ZipExporterDelegate(final Archive<?> archive, final boolean compressed,
+        final ExecutorService executorService) {
         super(archive);
         this.compressed = compressed;
+        this.executorService = executorService;
 
         // Precondition check
         if (archive.getContent().isEmpty()) {
             throw new IllegalArgumentException(
-                    "[SHRINKWRAP-93] Cannot use this JDK-based implementation to export as ZIP an archive with no content: "
-                            + archive);
+                "[SHRINKWRAP-93] Cannot use this JDK-based implementation to export as ZIP an archive with no content: "
+                    + archive);
         }
     }
 
@@ -66,6 +70,9 @@ class ZipExporterDelegate extends AbstractExporterDelegate<InputStream> {
 
     @Override
     protected InputStream getResult() {
+        if (compressed && executorService != null) {
+            return new ParallelZipOnDemandInputStream(getArchive(), executorService);
+        }
         return new ZipOnDemandInputStream(getArchive(), compressed);
     }
 }
@@ -17,11 +17,13 @@
 package org.jboss.shrinkwrap.impl.base.exporter.zip;
 
 import java.io.InputStream;
+import java.util.concurrent.ExecutorService;
 
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.exporter.ZipExporter;
 import org.jboss.shrinkwrap.impl.base.exporter.AbstractExporterDelegate;
 import org.jboss.shrinkwrap.impl.base.exporter.AbstractStreamExporterImpl;
+import org.jboss.shrinkwrap.spi.Configurable;
 
 /**
  * Implementation of ZipExporter used to export an Archive as a ZIP format.
@@ -44,8 +46,13 @@ public class ZipExporterImpl extends AbstractStreamExporterImpl implements ZipEx
      */
     @Override
     public InputStream exportAsInputStream() {
+        // Compress in parallel if the archive was configured with an executor
+        final Archive<?> archive = this.getArchive();
+        final ExecutorService executorService = archive.as(Configurable.class).getConfiguration().getExecutorService();
+
         // Create export delegate
-        final AbstractExporterDelegate<InputStream> exportDelegate = new ZipExporterDelegate(this.getArchive());
+        final AbstractExporterDelegate<InputStream> exportDelegate = new ZipExporterDelegate(archive, true,
+            executorService);
 
         // Export and get result
         return exportDelegate.export();
@@ -16,17 +16,18 @@
  */
 package org.jboss.shrinkwrap.impl.base.exporter.zip;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.asset.AssetMetadata;
+import org.jboss.shrinkwrap.impl.base.asset.AssetUtil;
 import org.jboss.shrinkwrap.impl.base.exporter.AbstractOnDemandInputStream;
+import org.jboss.shrinkwrap.impl.base.io.SpoolBuffer;
 
 /**
  * ZIP on demand input stream.
@@ -35,10 +36,24 @@ import org.jboss.shrinkwrap.impl.base.exporter.AbstractOnDemandInputStream;
  */
 class ZipOnDemandInputStream extends AbstractOnDemandInputStream<ZipOutputStream> {
 
-
     private final boolean compressed;
     private static final long SYSTIME = System.currentTimeMillis();
 
+    /**
+     * Content of the STORED entry being written, read once from its asset if its size or CRC is not known
+     */
+    private SpoolBuffer currentSpool;
+
+    /**
+     * Size of the STORED entry being written
+     */
+    private long currentSize;
+
+    /**
+     * CRC of the STORED entry being written
+     */
+    private long currentCrc;
+
     /**
      * Creates stream directly from archive with compression.
      *
@@ -74,9 +89,48 @@ class ZipOnDemandInputStream extends AbstractOnDemandInputStream<ZipOutputStream
         return zos;
     }
 
+    @Override
+    protected InputStream openStream(final Asset asset) throws IOException {
+        if (compressed) {
+            return super.openStream(asset);
+        }
+
+        // STORED entries need their CRC and size up front; stream through if the asset knows them
+        currentSize = AssetUtil.getContentLength(asset);
+        currentCrc = AssetUtil.getContentCrc(asset);
+        if (currentSize != AssetMetadata.UNKNOWN && currentCrc != AssetMetadata.UNKNOWN) {
+            return asset.openStream();
+        }
+
+        // Otherwise read the asset once into a spool and serve from there
+        final SpoolBuffer spool = new SpoolBuffer(getDiskBufferThreshold(SpoolBuffer.DEFAULT_THRESHOLD));
+        try (InputStream in = asset.openStream()) {
+            spool.writeFrom(in);
+        } catch (final IOException | RuntimeException e) {
+            spool.close();
+            throw e;
+        }
+        currentSpool = spool;
+        currentSize = spool.size();
+        currentCrc = spool.getCrc();
+        return spool.openStream();
+    }
+
     @Override
     protected void closeEntry(final ZipOutputStream outputStream) throws IOException {
         outputStream.closeEntry();
+        if (currentSpool != null) {
+            currentSpool.close();
+            currentSpool = null;
+        }
+    }
+
+    @Override
+    protected void abort(final ZipOutputStream outputStream) throws IOException {
+        if (currentSpool != null) {
+            currentSpool.close();
+            currentSpool = null;
+        }
     }
 
     @Override
@@ -91,24 +145,10 @@ class ZipOnDemandInputStream extends AbstractOnDemandInputStream<ZipOutputStream
             long contentSize = 0;
             long crc = 0;
 
-            // If it is not a directory
+            // If it is not a directory, take the CRC and size known from the asset or computed while spooling
             if (asset != null) {
-
-                // Calculates the CRC
-                CRC32 crc32 = new CRC32();
-
-                byte[] buf = new byte[1024];
-                int len;
-                try (InputStream is = new BufferedInputStream(asset.openStream())) {
-                    while ((len = is.read(buf, 0, buf.length)) != -1) {
-                        crc32.update(buf, 0, len);
-
-                        // Updates the size of the file
-                        contentSize += len;
-                    }
-                }
-                // Gets calculated value
-                crc = crc32.getValue();
+                contentSize = currentSize;
+                crc = currentCrc;
             }
 
             zipEntry.setCrc(crc);
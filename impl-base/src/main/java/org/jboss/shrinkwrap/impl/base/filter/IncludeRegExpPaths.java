@@ -33,7 +33,7 @@ public class IncludeRegExpPaths implements Filter<ArchivePath> {
     // Instance Members -------------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
 
-    private final String expression;
+    private final RegExpPathMatcher matcher;
 
     // -------------------------------------------------------------------------------------||
     // Constructor ------------------------------------------------------------------------||
@@ -41,7 +41,7 @@ public class IncludeRegExpPaths implements Filter<ArchivePath> {
 
     public IncludeRegExpPaths(String expression) {
         Validate.notNull(expression, "Expression must be specified");
-        this.expression = expression;
+        this.matcher = new RegExpPathMatcher(expression);
     }
 
     // -------------------------------------------------------------------------------------||
@@ -55,7 +55,7 @@ public class IncludeRegExpPaths implements Filter<ArchivePath> {
      */
     @Override
     public boolean include(ArchivePath path) {
-        if (path.get().matches(expression)) {
+        if (matcher.matches(path.get())) {
             return true;
         }
         return false;
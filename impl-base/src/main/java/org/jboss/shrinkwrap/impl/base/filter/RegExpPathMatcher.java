@@ -0,0 +1,209 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Matches whole paths against a Regular Expression, as {@link String#matches(String)} does, without compiling the
+ * expression for every path. Expressions made of alternatives of the shapes {@code literal}, {@code literal.*},
+ * {@code .*literal} and {@code .*literal.*}, each optionally in a group, are matched without a regular expression
+ * engine; this covers the expressions built by {@link org.jboss.shrinkwrap.api.Filters} for packages and classes. A
+ * literal may contain letters, digits, {@code _}, {@code -} and {@code /}, escaped characters other than letters and
+ * digits, and {@code .} matching any character. Other expressions are compiled once, on first use.
+ * <p>
+ * Thread-safe.
+ */
+final class RegExpPathMatcher {
+
+    private final String expression;
+
+    /**
+     * The alternatives of the expression, or null if it is not of a shape matched without a regular expression engine
+     */
+    private final Alternative[] alternatives;
+
+    /**
+     * The compiled expression, once needed; racing threads may each compile it
+     */
+    private volatile Pattern pattern;
+
+    RegExpPathMatcher(final String expression) {
+        assert expression != null : "Expression must be specified";
+        this.expression = expression;
+        this.alternatives = parse(expression);
+    }
+
+    /**
+     * @param path
+     *            The path to match
+     * @return Whether the whole path matches the expression
+     */
+    boolean matches(final String path) {
+        // "." matches neither line terminators nor only half of a surrogate pair; leave such (unlikely) paths to the
+        // regular expression engine
+        if (alternatives == null || containsSpecialCharacters(path)) {
+            return pattern().matcher(path).matches();
+        }
+        for (final Alternative alternative : alternatives) {
+            if (alternative.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Pattern pattern() {
+        Pattern compiled = pattern;
+        if (compiled == null) {
+            compiled = Pattern.compile(expression);
+            pattern = compiled;
+        }
+        return compiled;
+    }
+
+    private static boolean containsSpecialCharacters(final String path) {
+        for (int i = 0; i < path.length(); i++) {
+            final char c = path.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029' || Character.isSurrogate(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The alternatives of the expression, or null if it is not of a supported shape
+     */
+    private static Alternative[] parse(final String expression) {
+        final List<Alternative> alternatives = new ArrayList<>();
+        int start = 0;
+        while (true) {
+            final int end = expression.indexOf('|', start);
+            final Alternative alternative = parseAlternative(expression.substring(start, end == -1 ? expression
+                .length() : end));
+            if (alternative == null) {
+                return null;
+            }
+            alternatives.add(alternative);
+            if (end == -1) {
+                return alternatives.toArray(new Alternative[0]);
+            }
+            start = end + 1;
+        }
+    }
+
+    private static Alternative parseAlternative(String expression) {
+        if (expression.length() >= 2 && expression.charAt(0) == '('
+            && expression.charAt(expression.length() - 1) == ')') {
+            expression = expression.substring(1, expression.length() - 1);
+        }
+        final boolean anyPrefix = expression.startsWith(".*");
+        if (anyPrefix) {
+            expression = expression.substring(2);
+        }
+        // An escaped dot followed by "*" is a quantified literal, rejected below
+        final boolean anySuffix = expression.endsWith(".*") && !expression.endsWith("\\.*");
+        if (anySuffix) {
+            expression = expression.substring(0, expression.length() - 2);
+        }
+
+        final StringBuilder literal = new StringBuilder(expression.length());
+        final StringBuilder wildcards = new StringBuilder(expression.length());
+        for (int i = 0; i < expression.length(); i++) {
+            char c = expression.charAt(i);
+            boolean wildcard = false;
+            if (c == '\\') {
+                if (++i == expression.length()) {
+                    return null;
+                }
+                c = expression.charAt(i);
+                // Escaped letters and digits are character classes or back references
+                if (Character.isLetterOrDigit(c)) {
+                    return null;
+                }
+            } else if (c == '.') {
+                wildcard = true;
+            } else if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '/') {
+                return null;
+            }
+            // Quantifiers are only supported as the leading and trailing ".*"
+            if (i + 1 < expression.length() && "*+?{".indexOf(expression.charAt(i + 1)) != -1) {
+                return null;
+            }
+            literal.append(c);
+            wildcards.append(wildcard ? 'y' : 'n');
+        }
+        return new Alternative(literal.toString(), wildcards.toString(), anyPrefix, anySuffix);
+    }
+
+    /**
+     * An alternative of the expression: a literal, possibly with single-character wildcards, which the path must equal,
+     * start with, end with or contain
+     */
+    private static final class Alternative {
+
+        private final char[] literal;
+
+        private final boolean[] wildcard;
+
+        private final boolean anyPrefix;
+
+        private final boolean anySuffix;
+
+        private Alternative(final String literal, final String wildcards, final boolean anyPrefix,
+            final boolean anySuffix) {
+            this.literal = literal.toCharArray();
+            this.wildcard = new boolean[wildcards.length()];
+            for (int i = 0; i < this.wildcard.length; i++) {
+                this.wildcard[i] = wildcards.charAt(i) == 'y';
+            }
+            this.anyPrefix = anyPrefix;
+            this.anySuffix = anySuffix;
+        }
+
+        private boolean matches(final String path) {
+            final int slack = path.length() - literal.length;
+            if (slack < 0) {
+                return false;
+            }
+            if (!anyPrefix) {
+                return (anySuffix || slack == 0) && matchesAt(path, 0);
+            }
+            if (!anySuffix) {
+                return matchesAt(path, slack);
+            }
+            for (int offset = 0; offset <= slack; offset++) {
+                if (matchesAt(path, offset)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean matchesAt(final String path, final int offset) {
+            for (int i = 0; i < literal.length; i++) {
+                if (!wildcard[i] && path.charAt(offset + i) != literal[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -17,16 +17,23 @@
 package org.jboss.shrinkwrap.impl.base.importer;
 
 import java.io.File;
-import java.util.Objects;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.EnumSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.regex.Pattern;
 
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ArchivePath;
 import org.jboss.shrinkwrap.api.Filter;
 import org.jboss.shrinkwrap.api.Filters;
 import org.jboss.shrinkwrap.api.asset.FileAsset;
+import org.jboss.shrinkwrap.api.importer.ArchiveImportException;
 import org.jboss.shrinkwrap.api.importer.ExplodedImporter;
 import org.jboss.shrinkwrap.impl.base.AssignableBase;
 import org.jboss.shrinkwrap.impl.base.Validate;
@@ -109,48 +116,67 @@ public class ExplodedImporterImpl extends AssignableBase<Archive<?>> implements
             throw new IllegalArgumentException("Given file is not a directory " + file.getAbsolutePath());
         }
 
-        doImport(file, Objects.requireNonNull(file.listFiles()), filter);
+        doImport(file.toPath(), filter);
         return this;
     }
 
-    private void doImport(File root, File[] files, Filter<ArchivePath> filter) {
-        for (File file : files) {
-            if (log.isLoggable(Level.FINER)) {
-                log.finer("Importing: " + file.getAbsolutePath());
-            }
-            final Archive<?> archive = this.getArchive();
-            final ArchivePath path = calculatePath(root, file);
-            if( filter.include(path) ) {
-                if (file.isDirectory()) {
-                    archive.addAsDirectory(path);
-                    doImport(root, Objects.requireNonNull(file.listFiles()), filter);
-                } else {
-                    archive.add(new FileAsset(file), path);
-                }
-            }
+    /**
+     * Walks the directory tree below the specified root, depth first, adding the files and directories included by the
+     * filter; the subtrees of directories not included are skipped. Symbolic links are followed, as {@link File}
+     * does.
+     */
+    private void doImport(final Path root, final Filter<ArchivePath> filter) {
+        final Archive<?> archive = this.getArchive();
+        final int rootLength = root.toString().length();
+        try {
+            Files.walkFileTree(root, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+                new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+                        if (dir.equals(root)) {
+                            return FileVisitResult.CONTINUE;
+                        }
+                        final ArchivePath path = calculatePath(rootLength, dir);
+                        if (!filter.include(path)) {
+                            return FileVisitResult.SKIP_SUBTREE;
+                        }
+                        if (log.isLoggable(Level.FINER)) {
+                            log.finer("Importing: " + dir.toAbsolutePath());
+                        }
+                        archive.addAsDirectory(path);
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                        final ArchivePath path = calculatePath(rootLength, file);
+                        if (filter.include(path)) {
+                            if (log.isLoggable(Level.FINER)) {
+                                log.finer("Importing: " + file.toAbsolutePath());
+                            }
+                            archive.add(new FileAsset(file.toFile()), path);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+        } catch (final IOException e) {
+            throw new ArchiveImportException("Could not import directory " + root, e);
         }
     }
 
     /**
      * Calculate the relative child path.
      *
-     * @param root
-     *            The Archive root folder
+     * @param rootLength
+     *            The length of the path of the Archive root folder, which all children start with
      * @param child
      *            The Child file
      * @return a Path for the child relative to root
      */
-    private ArchivePath calculatePath(File root, File child) {
-        String rootPath = unifyPath(root.getPath());
-        String childPath = unifyPath(child.getPath());
-        String archiveChildPath = childPath.replaceFirst(Pattern.quote(rootPath), "");
-        return new BasicPath(archiveChildPath);
-    }
-
-    /**
-     * Windows vs Linux will return different path separators, unify the paths.
-     */
-    private String unifyPath(String path) {
-        return path.replaceAll("\\\\", "/");
+    private static ArchivePath calculatePath(final int rootLength, final Path child) {
+        final String archiveChildPath = child.toString().substring(rootLength);
+        // Windows vs Linux will return different path separators, unify the paths
+        return new BasicPath(File.separatorChar == '/' ? archiveChildPath : archiveChildPath.replace(
+            File.separatorChar, '/'));
     }
 }
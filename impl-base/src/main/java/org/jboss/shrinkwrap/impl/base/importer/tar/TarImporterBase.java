@@ -16,24 +16,31 @@
  */
 package org.jboss.shrinkwrap.impl.base.importer.tar;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ArchivePath;
-import org.jboss.shrinkwrap.api.ArchivePaths;
 import org.jboss.shrinkwrap.api.Filter;
 import org.jboss.shrinkwrap.api.Filters;
-import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
 import org.jboss.shrinkwrap.api.importer.ArchiveImportException;
 import org.jboss.shrinkwrap.api.importer.StreamImporter;
 import org.jboss.shrinkwrap.impl.base.AssignableBase;
 import org.jboss.shrinkwrap.impl.base.Validate;
+import org.jboss.shrinkwrap.impl.base.asset.FileRangeAsset;
+import org.jboss.shrinkwrap.impl.base.asset.SharedSpoolBuffer;
+import org.jboss.shrinkwrap.impl.base.asset.SpooledEntryAsset;
+import org.jboss.shrinkwrap.impl.base.io.SpoolBuffer;
+import org.jboss.shrinkwrap.impl.base.io.tar.TarBuffer;
 import org.jboss.shrinkwrap.impl.base.io.tar.TarEntry;
 import org.jboss.shrinkwrap.impl.base.io.tar.TarInputStream;
+import org.jboss.shrinkwrap.impl.base.path.BasicPath;
+import org.jboss.shrinkwrap.spi.Configurable;
 
 /**
  * Base of implementations used to import existing TAR files/streams into the given {@link Archive}
@@ -70,6 +77,14 @@ abstract class TarImporterBase<S extends TarInputStream, I extends StreamImporte
      */
     abstract S getInputStreamForRawStream(InputStream in) throws IOException;
 
+    /**
+     * Whether files read by this importer are uncompressed TARs, whose entries may be indexed from their headers and
+     * read in place rather than spooled
+     */
+    boolean isIndexable() {
+        return false;
+    }
+
     // -------------------------------------------------------------------------------------||
     // Functional Methods -----------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
@@ -116,29 +131,40 @@ abstract class TarImporterBase<S extends TarInputStream, I extends StreamImporte
     private I importFrom(final S stream, Filter<ArchivePath> filter) throws ArchiveImportException {
         Validate.notNull(stream, "Stream must be specified");
         try {
-            TarEntry entry;
-            while ((entry = stream.getNextEntry()) != null) {
-                // Get the name
-                String entryName = entry.getName();
-                if(!filter.include(ArchivePaths.create(entryName))) {
-                    continue;
-                }
+            // Streams, and compressed files, can only be read sequentially, so this import is eager: the content of all
+            // entries is decompressed and spooled once into a shared buffer, which bounds the heap by keeping it in
+            // memory up to the configured threshold and on disk beyond; each asset reads its own range, and the spill
+            // file is deleted once none of them is reachable
+            final Long configuredThreshold = this.getArchive().as(Configurable.class).getConfiguration()
+                .getDiskBufferThreshold();
+            final SpoolBuffer spool = new SpoolBuffer(configuredThreshold != null ? configuredThreshold
+                : SpoolBuffer.DEFAULT_THRESHOLD);
+            final SharedSpoolBuffer sharedSpool = new SharedSpoolBuffer(spool);
 
-                final Archive<?> archive = this.getArchive();
+            try {
+                TarEntry entry;
+                while ((entry = stream.getNextEntry()) != null) {
+                    // Get the name
+                    String entryName = entry.getName();
+                    final ArchivePath entryPath = new BasicPath(entryName);
+                    if (!filter.include(entryPath)) {
+                        continue;
+                    }
 
-                // Handle directories separately
-                if (entry.isDirectory()) {
-                    archive.addAsDirectory(entryName);
-                    continue;
-                }
+                    final Archive<?> archive = this.getArchive();
+
+                    // Handle directories separately
+                    if (entry.isDirectory()) {
+                        archive.addAsDirectory(entryPath);
+                        continue;
+                    }
 
-                ByteArrayOutputStream output = new ByteArrayOutputStream(8192);
-                byte[] content = new byte[4096];
-                int readBytes;
-                while ((readBytes = stream.read(content, 0, content.length)) != -1) {
-                    output.write(content, 0, readBytes);
+                    final long offset = spool.size();
+                    spool.writeFrom(stream);
+                    archive.add(new SpooledEntryAsset(sharedSpool, offset, spool.size() - offset), entryPath);
                 }
-                archive.add(new ByteArrayAsset(output.toByteArray()), entryName);
+            } finally {
+                sharedSpool.seal();
             }
         } catch (final RuntimeException | IOException exception) {
             throw new ArchiveImportException("Could not import stream", exception);
@@ -171,6 +197,10 @@ abstract class TarImporterBase<S extends TarInputStream, I extends StreamImporte
             throw new IllegalArgumentException("Specified file for import is a directory: " + file);
         }
 
+        if (this.isIndexable()) {
+            return this.importIndexed(file, filter);
+        }
+
         final S archive;
         try {
             archive = this.getInputStreamForFile(file);
@@ -186,6 +216,75 @@ abstract class TarImporterBase<S extends TarInputStream, I extends StreamImporte
     // Internal Helper Methods ------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
 
+    /**
+     * Imports the specified uncompressed TAR file lazily: only the entry headers are read, each record's data offset
+     * and size being indexed into an asset which reads that range of the file when its stream is opened
+     *
+     * @param file
+     *            The file to import, must be specified
+     * @param filter
+     *            Filter of the entries to import
+     * @return This importer
+     * @throws ArchiveImportException
+     *             If the headers could not be read
+     */
+    private I importIndexed(final File file, final Filter<ArchivePath> filter) throws ArchiveImportException {
+        assert file != null : "File must be specified";
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long fileSize = channel.size();
+            final ByteBuffer header = ByteBuffer.allocate(TarBuffer.DEFAULT_RECORD_SIZE);
+            long position = 0;
+            while (readRecord(channel, header, position)) {
+                final TarEntry entry = new TarEntry(header.array());
+                final long offset = position + TarBuffer.DEFAULT_RECORD_SIZE;
+                final long size = entry.getSize();
+                if (size < 0 || offset + size > fileSize) {
+                    throw new IOException("Entry " + entry.getName() + " is truncated");
+                }
+                // Data is padded to a whole number of records
+                position = offset + (size + TarBuffer.DEFAULT_RECORD_SIZE - 1) / TarBuffer.DEFAULT_RECORD_SIZE
+                    * TarBuffer.DEFAULT_RECORD_SIZE;
+
+                final ArchivePath entryPath = new BasicPath(entry.getName());
+                if (!filter.include(entryPath)) {
+                    continue;
+                }
+
+                final Archive<?> archive = this.getArchive();
+                if (entry.isDirectory()) {
+                    archive.addAsDirectory(entryPath);
+                    continue;
+                }
+                archive.add(new FileRangeAsset(file, offset, size), entryPath);
+            }
+        } catch (final RuntimeException | IOException exception) {
+            throw new ArchiveImportException("Could not import file " + file, exception);
+        }
+        return this.covariantReturn();
+    }
+
+    /**
+     * Reads the header record at the specified position, as {@link TarInputStream} would
+     *
+     * @return Whether a header was read, false at the end of the file or of the archive
+     */
+    private static boolean readRecord(final FileChannel channel, final ByteBuffer record, final long position)
+        throws IOException {
+        record.clear();
+        while (record.hasRemaining()) {
+            if (channel.read(record, position + record.position()) == -1) {
+                return false;
+            }
+        }
+        for (final byte b : record.array()) {
+            if (b != 0) {
+                return true;
+            }
+        }
+        // End-of-archive record
+        return false;
+    }
+
     /**
      * Obtains an implementation-specific stream to the specified {@link File}
      *
@@ -62,4 +62,14 @@ public class TarImporterImpl extends TarImporterBase<TarInputStream, TarImporter
         return new TarInputStream(in);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see org.jboss.shrinkwrap.impl.base.importer.tar.TarImporterBase#isIndexable()
+     */
+    @Override
+    boolean isIndexable() {
+        return true;
+    }
+
 }
@@ -0,0 +1,239 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.importer.zip;
+
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+import org.jboss.shrinkwrap.api.asset.AssetMetadata;
+import org.jboss.shrinkwrap.impl.base.asset.ZipBufferEntryAsset;
+
+/**
+ * Reads the central directory of a ZIP archive held in a {@link ByteBuffer} (a memory-mapped file or an in-memory
+ * copy), yielding the entries as {@link ZipBufferEntryAsset}s over the very same buffer. Supports ZIP64; archives
+ * which are split, encrypted or use compression methods other than STORED and DEFLATED are rejected with a
+ * {@link ZipException}, so the caller may fall back to the JDK.
+ */
+final class ZipCentralDirectory {
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int END_SIZE = 22;
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+    private static final int FLAG_ENCRYPTED = 0x1;
+
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+    /**
+     * An entry of the central directory
+     */
+    static final class Entry {
+        private final String name;
+        private final ZipBufferEntryAsset asset;
+
+        private Entry(final String name, final ZipBufferEntryAsset asset) {
+            this.name = name;
+            this.asset = asset;
+        }
+
+        /**
+         * @return The entry name, ending with a slash for directories
+         */
+        String getName() {
+            return name;
+        }
+
+        /**
+         * @return Whether the entry is a directory
+         */
+        boolean isDirectory() {
+            return name.endsWith("/");
+        }
+
+        /**
+         * @return An asset over the entry content, in the buffer the directory was read from
+         */
+        ZipBufferEntryAsset getAsset() {
+            return asset;
+        }
+    }
+
+    private ZipCentralDirectory() {
+        throw new UnsupportedOperationException("No instances");
+    }
+
+    /**
+     * Reads all entries of the ZIP archive occupying the specified buffer from index 0 to its limit. The buffer is
+     * referenced, not copied, by the returned assets, and must not be modified afterwards.
+     *
+     * @param zip
+     *            The ZIP archive
+     * @return The entries, in central directory order
+     * @throws ZipException
+     *             If the archive is malformed or not supported
+     */
+    static List<Entry> read(final ByteBuffer zip) throws ZipException {
+        final ByteBuffer buffer = zip.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        final int length = buffer.limit();
+
+        try {
+            // Locate the end of central directory record, followed by an archive comment of unknown length
+            final int end = findEnd(buffer, length);
+            long count = buffer.getShort(end + 10) & 0xFFFF;
+            long directoryOffset = buffer.getInt(end + 16) & 0xFFFFFFFFL;
+            if (count == ZIP64_MAGIC_COUNT || directoryOffset == ZIP64_MAGIC) {
+                final int locator = end - ZIP64_LOCATOR_SIZE;
+                if (locator >= 0 && buffer.getInt(locator) == ZIP64_LOCATOR_SIGNATURE) {
+                    final int zip64End = toIndex(buffer.getLong(locator + 8), length);
+                    if (buffer.getInt(zip64End) != ZIP64_END_SIGNATURE) {
+                        throw new ZipException("Invalid ZIP64 end of central directory record");
+                    }
+                    count = buffer.getLong(zip64End + 32);
+                    directoryOffset = buffer.getLong(zip64End + 48);
+                }
+            } else if ((buffer.getShort(end + 4) & 0xFFFF) != 0 || (buffer.getShort(end + 6) & 0xFFFF) != 0) {
+                throw new ZipException("Split ZIP archives are not supported");
+            }
+
+            final List<Entry> entries = new ArrayList<>((int) Math.min(count, 1 << 16));
+            int position = toIndex(directoryOffset, length);
+            for (long i = 0; i < count; i++) {
+                if (buffer.getInt(position) != CENTRAL_HEADER_SIGNATURE) {
+                    throw new ZipException("Invalid central directory header");
+                }
+                final int flags = buffer.getShort(position + 8) & 0xFFFF;
+                final int method = buffer.getShort(position + 10) & 0xFFFF;
+                final int dosTime = buffer.getInt(position + 12);
+                final long crc = buffer.getInt(position + 16) & 0xFFFFFFFFL;
+                long compressedSize = buffer.getInt(position + 20) & 0xFFFFFFFFL;
+                long size = buffer.getInt(position + 24) & 0xFFFFFFFFL;
+                final int nameLength = buffer.getShort(position + 28) & 0xFFFF;
+                final int extraLength = buffer.getShort(position + 30) & 0xFFFF;
+                final int commentLength = buffer.getShort(position + 32) & 0xFFFF;
+                long localHeaderOffset = buffer.getInt(position + 42) & 0xFFFFFFFFL;
+
+                final byte[] nameBytes = new byte[nameLength];
+                final ByteBuffer nameBuffer = buffer.duplicate();
+                ((Buffer) nameBuffer).position(position + CENTRAL_HEADER_SIZE);
+                nameBuffer.get(nameBytes);
+                final String name = new String(nameBytes, StandardCharsets.UTF_8);
+
+                // Sizes and offset too large for the header are in the ZIP64 extra field, in this order
+                if (size == ZIP64_MAGIC || compressedSize == ZIP64_MAGIC || localHeaderOffset == ZIP64_MAGIC) {
+                    int extra = position + CENTRAL_HEADER_SIZE + nameLength;
+                    final int extraEnd = extra + extraLength;
+                    while (extra + 4 <= extraEnd) {
+                        final int id = buffer.getShort(extra) & 0xFFFF;
+                        final int dataSize = buffer.getShort(extra + 2) & 0xFFFF;
+                        if (id == ZIP64_EXTRA_ID) {
+                            int field = extra + 4;
+                            if (size == ZIP64_MAGIC) {
+                                size = buffer.getLong(field);
+                                field += 8;
+                            }
+                            if (compressedSize == ZIP64_MAGIC) {
+                                compressedSize = buffer.getLong(field);
+                                field += 8;
+                            }
+                            if (localHeaderOffset == ZIP64_MAGIC) {
+                                localHeaderOffset = buffer.getLong(field);
+                            }
+                            break;
+                        }
+                        extra += 4 + dataSize;
+                    }
+                }
+                position += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+
+                if (name.endsWith("/")) {
+                    entries.add(new Entry(name, null));
+                    continue;
+                }
+                if ((flags & FLAG_ENCRYPTED) != 0) {
+                    throw new ZipException("Encrypted ZIP entry not supported: " + name);
+                }
+                if (method != ZipEntry.STORED && method != ZipEntry.DEFLATED) {
+                    throw new ZipException("Unsupported compression method " + method + " for entry: " + name);
+                }
+
+                // The local header may carry an extra field of its own, so the data offset is only known from it
+                final int localHeader = toIndex(localHeaderOffset, length);
+                if (buffer.getInt(localHeader) != LOCAL_HEADER_SIGNATURE) {
+                    throw new ZipException("Invalid local header for entry: " + name);
+                }
+                final int dataStart = localHeader + LOCAL_HEADER_SIZE + (buffer.getShort(localHeader + 26) & 0xFFFF)
+                    + (buffer.getShort(localHeader + 28) & 0xFFFF);
+                final int dataEnd = toIndex(dataStart + compressedSize, length);
+
+                final ByteBuffer data = zip.duplicate();
+                ((Buffer) data).limit(dataEnd);
+                ((Buffer) data).position(dataStart);
+                entries.add(new Entry(name, new ZipBufferEntryAsset(data, method == ZipEntry.DEFLATED, size, crc,
+                    toJavaTime(dosTime))));
+            }
+            return entries;
+        } catch (final IndexOutOfBoundsException | BufferUnderflowException | IllegalArgumentException e) {
+            final ZipException ze = new ZipException("Truncated ZIP archive");
+            ze.initCause(e);
+            throw ze;
+        }
+    }
+
+    private static int findEnd(final ByteBuffer buffer, final int length) throws ZipException {
+        final int lowest = Math.max(0, length - END_SIZE - MAX_COMMENT_LENGTH);
+        for (int i = length - END_SIZE; i >= lowest; i--) {
+            if (buffer.getInt(i) == END_SIGNATURE && i + END_SIZE + (buffer.getShort(i + 20) & 0xFFFF) <= length) {
+                return i;
+            }
+        }
+        throw new ZipException("No end of central directory record found");
+    }
+
+    private static int toIndex(final long offset, final int length) throws ZipException {
+        if (offset < 0 || offset > length) {
+            throw new ZipException("Offset " + offset + " out of range");
+        }
+        return (int) offset;
+    }
+
+    private static long toJavaTime(final int dosTime) {
+        if (dosTime == 0) {
+            return AssetMetadata.UNKNOWN;
+        }
+        final Calendar calendar = new GregorianCalendar(((dosTime >> 25) & 0x7F) + 1980, ((dosTime >> 21) & 0x0F) - 1,
+            (dosTime >> 16) & 0x1F, (dosTime >> 11) & 0x1F, (dosTime >> 5) & 0x3F, (dosTime << 1) & 0x3E);
+        return calendar.getTimeInMillis();
+    }
+}
@@ -16,19 +16,27 @@
  */
 package org.jboss.shrinkwrap.impl.base.importer.zip;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ArchivePath;
-import org.jboss.shrinkwrap.api.ArchivePaths;
 import org.jboss.shrinkwrap.api.Filter;
 import org.jboss.shrinkwrap.api.Filters;
 import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
@@ -36,9 +44,12 @@ import org.jboss.shrinkwrap.api.importer.ArchiveImportException;
 import org.jboss.shrinkwrap.api.importer.ZipImporter;
 import org.jboss.shrinkwrap.impl.base.AssignableBase;
 import org.jboss.shrinkwrap.impl.base.Validate;
+import org.jboss.shrinkwrap.impl.base.asset.SharedZipFile;
 import org.jboss.shrinkwrap.impl.base.asset.ZipFileEntryAsset;
+import org.jboss.shrinkwrap.impl.base.io.ExposedByteArrayOutputStream;
 import org.jboss.shrinkwrap.impl.base.io.IOUtil;
 import org.jboss.shrinkwrap.impl.base.path.BasicPath;
+import org.jboss.shrinkwrap.spi.Configurable;
 
 /**
  * Used to import existing Zip files/streams into the given {@link Archive}
@@ -53,6 +64,17 @@ public class ZipImporterImpl extends AssignableBase<Archive<?>> implements ZipIm
      */
     static final String DISK_BUFFER_THRESHOLD_PROPERTY = "shrinkwrap.zipImporter.diskBufferThresholdMb";
 
+    /**
+     * Entries imported from an in-memory stream are copied out of it if they take less than one part in this many of
+     * it, rather than all retaining it
+     */
+    private static final int SPARSE_RATIO = 2;
+
+    /**
+     * Logger
+     */
+    private static final Logger log = Logger.getLogger(ZipImporterImpl.class.getName());
+
     // -------------------------------------------------------------------------------------||
     // Constructor ------------------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
@@ -110,10 +132,13 @@ public class ZipImporterImpl extends AssignableBase<Archive<?>> implements ZipIm
         Validate.notNull(filter, "Filter must be specified");
 
         try {
-            final long diskBufferThreshold = Long.getLong(DISK_BUFFER_THRESHOLD_PROPERTY, 100L) * 1024 * 1024;
+            final Long configuredThreshold = this.getArchive().as(Configurable.class).getConfiguration()
+                .getDiskBufferThreshold();
+            final long diskBufferThreshold = configuredThreshold != null ? configuredThreshold
+                : Long.getLong(DISK_BUFFER_THRESHOLD_PROPERTY, 100L) * 1024 * 1024;
 
             // Buffer the stream into memory, tracking total size
-            final ByteArrayOutputStream memoryBuffer = new ByteArrayOutputStream(8192);
+            final ExposedByteArrayOutputStream memoryBuffer = new ExposedByteArrayOutputStream(8192);
             final byte[] buf = new byte[4096];
             int bytesRead;
             long totalRead = 0;
@@ -136,15 +161,23 @@ public class ZipImporterImpl extends AssignableBase<Archive<?>> implements ZipIm
                 }
             }
 
-            // Small archive, process directly from memory using ZipInputStream
-            final ZipInputStream zipStream = new ZipInputStream(new java.io.ByteArrayInputStream(memoryBuffer.toByteArray()));
+            // Small archive, index the buffer in place; entries are inflated from it when read
+            final ByteBuffer zip = ByteBuffer.wrap(memoryBuffer.buffer(), 0, memoryBuffer.size());
+            if (importFrom(zip, filter, true)) {
+                return this;
+            }
+
+            // Not indexable, process sequentially using ZipInputStream
+            final ZipInputStream zipStream = new ZipInputStream(
+                new ByteArrayInputStream(memoryBuffer.buffer(), 0, memoryBuffer.size()));
 
             ZipEntry entry;
             while ((entry = zipStream.getNextEntry()) != null) {
                 // Get the name
                 final String entryName = entry.getName();
+                final ArchivePath entryPath = new BasicPath(entryName);
 
-                if (!filter.include(ArchivePaths.create(entryName))) {
+                if (!filter.include(entryPath)) {
                     zipStream.closeEntry();
                     continue;
                 }
@@ -154,13 +187,13 @@ public class ZipImporterImpl extends AssignableBase<Archive<?>> implements ZipIm
 
                 // Handle directories separately
                 if (entry.isDirectory()) {
-                    archive.addAsDirectory(entryName);
+                    archive.addAsDirectory(entryPath);
                     continue;
                 }
 
                 final ByteArrayOutputStream output = new ByteArrayOutputStream(8192);
                 IOUtil.copy(zipStream, output);
-                archive.add(new ByteArrayAsset(output.toByteArray()), entryName);
+                archive.add(ByteArrayAsset.wrap(output.toByteArray()), entryPath);
                 zipStream.closeEntry();
             }
             return this;
@@ -194,6 +227,20 @@ public class ZipImporterImpl extends AssignableBase<Archive<?>> implements ZipIm
         }
         Validate.notNull(filter, "Filter must be specified");
 
+        if (this.getArchive().as(Configurable.class).getConfiguration().isMemoryMappedImport()
+            && file.length() <= Integer.MAX_VALUE) {
+            final ByteBuffer zip;
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                // The mapping remains valid once the channel is closed
+                zip = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (final IOException ioe) {
+                throw new ArchiveImportException("Could not map ZIP File " + file.getAbsolutePath(), ioe);
+            }
+            if (importFrom(zip, filter, false)) {
+                return this;
+            }
+        }
+
         final ZipFile zipFile;
         try {
             zipFile = new ZipFile(file);
@@ -218,6 +265,8 @@ public class ZipImporterImpl extends AssignableBase<Archive<?>> implements ZipIm
     private ZipImporter importFrom(final ZipFile file, Filter<ArchivePath> filter) throws ArchiveImportException {
         Validate.notNull(file, "File must be specified");
 
+        // All entries read through one shared handle, rather than each reopening the file
+        final SharedZipFile sharedFile = new SharedZipFile(new File(file.getName()));
         try {
             Enumeration<? extends ZipEntry> entries = file.entries();
             while (entries.hasMoreElements()) {
@@ -225,7 +274,8 @@ public class ZipImporterImpl extends AssignableBase<Archive<?>> implements ZipIm
 
                 // Get the entry (path) name
                 final String entryName = entry.getName();
-                if(!filter.include(ArchivePaths.create(entryName))) {
+                final ArchivePath entryPath = new BasicPath(entryName);
+                if (!filter.include(entryPath)) {
                     continue;
                 }
                 // Get the archive
@@ -233,11 +283,11 @@ public class ZipImporterImpl extends AssignableBase<Archive<?>> implements ZipIm
 
                 // Handle directories separately
                 if (entry.isDirectory()) {
-                    archive.addAsDirectory(entryName);
+                    archive.addAsDirectory(entryPath);
                     continue;
                 }
 
-                archive.add(new ZipFileEntryAsset(new File(file.getName()), entry), new BasicPath(entryName));
+                archive.add(new ZipFileEntryAsset(sharedFile, entry), entryPath);
             }
         } catch (Exception e) {
             throw new ArchiveImportException("Could not import file", e);
@@ -250,4 +300,63 @@ public class ZipImporterImpl extends AssignableBase<Archive<?>> implements ZipIm
         }
         return this;
     }
+
+    /**
+     * Imports the entries of the ZIP archive held in the specified buffer, as assets inflating their content from the
+     * buffer when read. Nothing is imported if the central directory of the archive cannot be read, or uses features
+     * not supported by {@link ZipCentralDirectory}.
+     *
+     * @param zip
+     *            The ZIP archive, from index 0 to the limit
+     * @param filter
+     *            Filter selecting the entries to import
+     * @param copySparse
+     *            Whether the entries should be copied out of the buffer, rather than all retain it, if they only take a
+     *            small part of it
+     * @return Whether the archive was imported
+     */
+    private boolean importFrom(final ByteBuffer zip, final Filter<ArchivePath> filter, final boolean copySparse) {
+        final List<ZipCentralDirectory.Entry> entries;
+        try {
+            entries = ZipCentralDirectory.read(zip);
+        } catch (final ZipException ze) {
+            if (log.isLoggable(Level.FINER)) {
+                log.finer("Could not index ZIP central directory due to: " + ze.getMessage()
+                    + "; falling back to sequential import");
+            }
+            return false;
+        }
+
+        final List<ZipCentralDirectory.Entry> included = new ArrayList<>(entries.size());
+        final List<ArchivePath> includedPaths = new ArrayList<>(entries.size());
+        long includedLength = 0;
+        for (final ZipCentralDirectory.Entry entry : entries) {
+            final ArchivePath entryPath = new BasicPath(entry.getName());
+            if (filter.include(entryPath)) {
+                included.add(entry);
+                includedPaths.add(entryPath);
+                if (!entry.isDirectory()) {
+                    includedLength += entry.getAsset().getRawLength();
+                }
+            }
+        }
+
+        // Each asset retains the whole buffer; not worth it if most of the buffer is filtered out
+        final boolean copy = copySparse && includedLength * SPARSE_RATIO < zip.limit();
+
+        final Archive<?> archive = this.getArchive();
+        for (int i = 0; i < included.size(); i++) {
+            final ZipCentralDirectory.Entry entry = included.get(i);
+            final ArchivePath entryPath = includedPaths.get(i);
+
+            // Handle directories separately
+            if (entry.isDirectory()) {
+                archive.addAsDirectory(entryPath);
+                continue;
+            }
+
+            archive.add(copy ? entry.getAsset().copy() : entry.getAsset(), entryPath);
+        }
+        return true;
+    }
 }
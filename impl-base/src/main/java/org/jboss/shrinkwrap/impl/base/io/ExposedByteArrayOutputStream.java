@@ -0,0 +1,55 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.io;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * {@link ByteArrayOutputStream} granting access to its backing array, so buffered data may be read without
+ * {@link ByteArrayOutputStream#toByteArray()} copies. Only the first {@link ByteArrayOutputStream#size()} bytes of the
+ * array are valid, and the array is replaced as the stream grows.
+ * <p>
+ * Not thread-safe.
+ */
+public final class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+
+    /**
+     * Creates a new stream with the default initial capacity.
+     */
+    public ExposedByteArrayOutputStream() {
+        super();
+    }
+
+    /**
+     * Creates a new stream with the specified initial capacity.
+     *
+     * @param size
+     *            The initial capacity
+     * @throws IllegalArgumentException
+     *             If the size is negative
+     */
+    public ExposedByteArrayOutputStream(final int size) throws IllegalArgumentException {
+        super(size);
+    }
+
+    /**
+     * @return The backing array, without copying it
+     */
+    public byte[] buffer() {
+        return buf;
+    }
+}
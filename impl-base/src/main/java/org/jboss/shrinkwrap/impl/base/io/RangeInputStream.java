@@ -0,0 +1,110 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.io;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link InputStream} reading at most a given number of bytes from the underlying stream
+ */
+public final class RangeInputStream extends FilterInputStream {
+
+    private long remaining;
+
+    /**
+     * Creates a new stream reading at most the specified number of bytes from the specified stream, which is closed
+     * along with it.
+     *
+     * @param in
+     *            The underlying stream
+     * @param length
+     *            The maximum number of bytes to read
+     */
+    public RangeInputStream(final InputStream in, final long length) {
+        super(in);
+        this.remaining = length;
+    }
+
+    /**
+     * Opens a new stream over a range of the specified file.
+     *
+     * @param file
+     *            The file to read
+     * @param offset
+     *            The offset of the first byte to read
+     * @param length
+     *            The number of bytes to read
+     * @return A new {@link InputStream} over the range
+     * @throws IOException
+     *             If the file could not be opened
+     */
+    public static RangeInputStream open(final File file, final long offset, final long length) throws IOException {
+        final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            channel.position(offset);
+        } catch (final IOException ioe) {
+            channel.close();
+            throw ioe;
+        }
+        return new RangeInputStream(Channels.newInputStream(channel), length);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (remaining <= 0) {
+            return -1;
+        }
+        final int b = in.read();
+        if (b != -1) {
+            remaining--;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (remaining <= 0) {
+            return -1;
+        }
+        final int read = in.read(b, off, (int) Math.min(len, remaining));
+        if (read > 0) {
+            remaining -= read;
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        final long skipped = in.skip(Math.min(n, remaining));
+        remaining -= skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(in.available(), remaining);
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Write-once buffer which keeps its content in memory up to a threshold, and spills to a temporary file beyond it.
+ * Tracks the size and CRC-32 of the content written. Once written, the content may be read back any number of times
+ * via {@link SpoolBuffer#openStream()}; {@link SpoolBuffer#seal()} ends the writing, closing the temporary file
+ * for writing, and {@link SpoolBuffer#close()} releases it, if any.
+ * <p>
+ * Not thread-safe.
+ */
+public final class SpoolBuffer extends OutputStream {
+
+    /**
+     * Logger
+     */
+    private static final Logger log = Logger.getLogger(SpoolBuffer.class.getName());
+
+    /**
+     * Default number of bytes kept in memory before spilling to disk: 16 MB
+     */
+    public static final long DEFAULT_THRESHOLD = 16L * 1024 * 1024;
+
+    /**
+     * Maximum number of bytes kept in memory, whatever the threshold: the in-memory content is a single array
+     */
+    public static final long MAX_THRESHOLD = Integer.MAX_VALUE - 8;
+
+    /**
+     * Maximum number of bytes kept in memory
+     */
+    private final long threshold;
+
+    /**
+     * In-memory content, until the threshold is exceeded
+     */
+    private ExposedByteArrayOutputStream memory = new ExposedByteArrayOutputStream();
+
+    /**
+     * Spill file, once the threshold is exceeded
+     */
+    private File file;
+
+    /**
+     * Stream to the spill file
+     */
+    private OutputStream fileStream;
+
+    private final CRC32 crc = new CRC32();
+
+    private long size = 0;
+
+    /**
+     * Whether writing has ended
+     */
+    private boolean sealed;
+
+    /**
+     * Whether the content was discarded
+     */
+    private boolean closed;
+
+    /**
+     * Creates a new buffer keeping at most the specified number of bytes in memory.
+     *
+     * @param threshold
+     *            Maximum number of bytes kept in memory; beyond it, the content is spilled to a temporary file. Capped at
+     *            {@link #MAX_THRESHOLD}.
+     * @throws IllegalArgumentException
+     *             If the threshold is negative
+     */
+    public SpoolBuffer(final long threshold) throws IllegalArgumentException {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("threshold must not be negative");
+        }
+        this.threshold = Math.min(threshold, MAX_THRESHOLD);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        ensureWritable();
+        if (memory != null && size + 1 > threshold) {
+            spill();
+        }
+        if (memory != null) {
+            memory.write(b);
+        } else {
+            fileStream.write(b);
+        }
+        crc.update(b);
+        size++;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        ensureWritable();
+        if (memory != null && size + len > threshold) {
+            spill();
+        }
+        if (memory != null) {
+            memory.write(b, off, len);
+        } else {
+            fileStream.write(b, off, len);
+        }
+        crc.update(b, off, len);
+        size += len;
+    }
+
+    /**
+     * Copies the remaining content of the specified stream into this buffer. The stream is not closed.
+     *
+     * @param in
+     *            The stream to read from
+     * @throws IOException
+     *             If an I/O error occurs
+     */
+    public void writeFrom(final InputStream in) throws IOException {
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            write(buffer, 0, read);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (fileStream != null) {
+            fileStream.flush();
+        }
+    }
+
+    /**
+     * Ends the writing, flushing and closing the stream to the spill file if any; the content may still be read.
+     * Further writes fail.
+     *
+     * @throws IOException
+     *             If the spill file could not be written
+     */
+    public void seal() throws IOException {
+        ensureOpen();
+        sealed = true;
+        if (fileStream != null) {
+            try {
+                fileStream.close();
+            } finally {
+                fileStream = null;
+            }
+        }
+    }
+
+    /**
+     * @return The number of bytes written
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return The CRC-32 of the bytes written
+     */
+    public long getCrc() {
+        return crc.getValue();
+    }
+
+    /**
+     * @return Whether the content was spilled to disk
+     */
+    public boolean isSpilled() {
+        return file != null;
+    }
+
+    /**
+     * Opens a new stream over the content written so far.
+     *
+     * @return A new {@link InputStream} over the content
+     * @throws IOException
+     *             If an I/O error occurs
+     */
+    public InputStream openStream() throws IOException {
+        ensureOpen();
+        if (file == null) {
+            return new ByteArrayInputStream(memory.buffer(), 0, memory.size());
+        }
+        flush();
+        return new FileInputStream(file);
+    }
+
+    /**
+     * Opens a new stream over a range of the content written so far. Streams over content no longer being written may
+     * be opened and read concurrently.
+     *
+     * @param offset
+     *            The offset of the first byte to read
+     * @param length
+     *            The number of bytes to read
+     * @return A new {@link InputStream} over the range
+     * @throws IllegalArgumentException
+     *             If the range is not within the content written so far
+     * @throws IOException
+     *             If an I/O error occurs
+     */
+    public InputStream openStream(final long offset, final long length) throws IllegalArgumentException, IOException {
+        if (offset < 0 || length < 0 || offset + length > size) {
+            throw new IllegalArgumentException("Range " + offset + "+" + length + " out of bounds of " + size
+                + " bytes");
+        }
+        ensureOpen();
+        if (file == null) {
+            return new ByteArrayInputStream(memory.buffer(), (int) offset, (int) length);
+        }
+        flush();
+        return RangeInputStream.open(file, offset, length);
+    }
+
+    /**
+     * Writes the content written so far to the specified stream.
+     *
+     * @param out
+     *            The stream to write to
+     * @throws IOException
+     *             If an I/O error occurs
+     */
+    public void writeTo(final OutputStream out) throws IOException {
+        ensureOpen();
+        if (file == null) {
+            memory.writeTo(out);
+            return;
+        }
+        try (InputStream in = openStream()) {
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    /**
+     * Discards the content, deleting the spill file if any.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        memory = null;
+        if (fileStream != null) {
+            try {
+                fileStream.close();
+            } catch (final IOException ioe) {
+                if (log.isLoggable(Level.FINER)) {
+                    log.finer("Could not close spill file stream due to: " + ioe.getMessage() + "; ignoring");
+                }
+            }
+            fileStream = null;
+        }
+        if (file != null) {
+            if (!file.delete() && log.isLoggable(Level.FINER)) {
+                log.finer("Could not delete spill file " + file + "; ignoring");
+            }
+            file = null;
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Buffer closed");
+        }
+    }
+
+    private void ensureWritable() throws IOException {
+        ensureOpen();
+        if (sealed) {
+            throw new IOException("Buffer sealed");
+        }
+    }
+
+    /**
+     * Moves the in-memory content to a new temporary file.
+     */
+    private void spill() throws IOException {
+        file = File.createTempFile("shrinkwrap-spool", ".tmp");
+        file.deleteOnExit();
+        fileStream = new BufferedOutputStream(new FileOutputStream(file), 8192);
+        memory.writeTo(fileStream);
+        memory = null;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.nio2.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.jboss.shrinkwrap.api.asset.ArchiveAsset;
+import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.asset.AssetMetadata;
+
+/**
+ * Determines the size of {@link Asset}s for file attributes and file stores, avoiding to read their content where
+ * possible: the length reported by {@link AssetMetadata} is used if known; otherwise the content is counted once and the
+ * result cached for the asset instance.
+ * <p>
+ * {@link ArchiveAsset}s are not cached, as the nested archive may change; every lookup exports it anew, though straight
+ * into a counter rather than through an {@link InputStream}.
+ */
+final class AssetSizes {
+
+    /**
+     * Sizes counted so far, weakly keyed so assets removed from all archives may be reclaimed
+     */
+    private static final Map<Asset, Long> COUNTED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private AssetSizes() {
+        throw new UnsupportedOperationException("No instances");
+    }
+
+    /**
+     * Obtains the number of bytes of the content of the specified asset.
+     *
+     * @param asset
+     *            The asset
+     * @return The size of the content in bytes
+     * @throws IOException
+     *             If the content had to be read, and could not be
+     */
+    static long sizeOf(final Asset asset) throws IOException {
+        if (asset instanceof AssetMetadata) {
+            final long length = ((AssetMetadata) asset).getContentLength();
+            if (length != AssetMetadata.UNKNOWN) {
+                return length;
+            }
+        }
+        final boolean cacheable = !(asset instanceof ArchiveAsset) && !(asset instanceof AssetMetadata);
+        if (cacheable) {
+            final Long counted = COUNTED.get(asset);
+            if (counted != null) {
+                return counted;
+            }
+        }
+        final long size = count(asset);
+        if (cacheable) {
+            COUNTED.put(asset, size);
+        }
+        return size;
+    }
+
+    private static long count(final Asset asset) throws IOException {
+        if (asset instanceof ArchiveAsset) {
+            final ArchiveAsset archiveAsset = (ArchiveAsset) asset;
+            final CountingOutputStream counter = new CountingOutputStream();
+            archiveAsset.getArchive().as(archiveAsset.getExporter()).exportTo(counter);
+            return counter.count;
+        }
+        long count = 0L;
+        final byte[] buffer = new byte[8192];
+        try (InputStream in = asset.openStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                count += read;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * {@link OutputStream} which does nothing but count the bytes written
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(final int b) {
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.nio2.file;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Read-only {@link FileChannel} over the content of a {@link ByteBuffer}, which is shared rather than copied. Reads,
+ * including positional reads and {@link ByteBufferChannel#transferTo(long, long, WritableByteChannel)}, copy straight
+ * from the buffer into the destination; {@link ByteBufferChannel#map(MapMode, long, long)} returns a view of the buffer
+ * if it is held outside the heap. All write operations throw {@link NonWritableChannelException}.
+ * <p>
+ * Thread-safe.
+ */
+final class ByteBufferChannel extends FileChannel {
+
+    /**
+     * The content, from index 0 to the limit; never modified through this channel
+     */
+    private final ByteBuffer content;
+
+    /**
+     * Current position; guarded by "this"
+     */
+    private long position;
+
+    /**
+     * Creates a new channel over the content of the specified buffer, between its position and limit.
+     *
+     * @param content
+     *            The content
+     */
+    ByteBufferChannel(final ByteBuffer content) {
+        assert content != null : "Content must be specified";
+        this.content = content.slice();
+    }
+
+    @Override
+    public int read(final ByteBuffer dst) throws IOException {
+        ensureOpen();
+        synchronized (this) {
+            final int read = read(dst, position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+    }
+
+    @Override
+    public long read(final ByteBuffer[] dsts, final int offset, final int length) throws IOException {
+        if (offset < 0 || length < 0 || offset > dsts.length - length) {
+            throw new IndexOutOfBoundsException();
+        }
+        ensureOpen();
+        synchronized (this) {
+            long total = 0;
+            for (int i = offset; i < offset + length; i++) {
+                final int read = read(dsts[i], position);
+                if (read == -1) {
+                    return total == 0 ? -1 : total;
+                }
+                position += read;
+                total += read;
+            }
+            return total;
+        }
+    }
+
+    @Override
+    public int read(final ByteBuffer dst, final long position) throws IOException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Position must not be negative");
+        }
+        ensureOpen();
+        if (position >= content.limit()) {
+            return -1;
+        }
+        final ByteBuffer source = range(position, dst.remaining());
+        final int read = source.remaining();
+        dst.put(source);
+        return read;
+    }
+
+    @Override
+    public int write(final ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long write(final ByteBuffer[] srcs, final int offset, final int length) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public int write(final ByteBuffer src, final long position) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public synchronized long position() throws IOException {
+        ensureOpen();
+        return position;
+    }
+
+    @Override
+    public FileChannel position(final long newPosition) throws IOException {
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("Position must not be negative");
+        }
+        ensureOpen();
+        synchronized (this) {
+            position = newPosition;
+        }
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        ensureOpen();
+        return content.limit();
+    }
+
+    @Override
+    public FileChannel truncate(final long size) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public void force(final boolean metaData) throws IOException {
+        // Nothing to write out
+        ensureOpen();
+    }
+
+    @Override
+    public long transferTo(final long position, final long count, final WritableByteChannel target)
+        throws IOException {
+        if (position < 0 || count < 0) {
+            throw new IllegalArgumentException("Position and count must not be negative");
+        }
+        ensureOpen();
+        if (position >= content.limit()) {
+            return 0;
+        }
+        final ByteBuffer source = range(position, (int) Math.min(count, Integer.MAX_VALUE));
+        long transferred = 0;
+        while (source.hasRemaining()) {
+            final int written = target.write(source);
+            if (written <= 0) {
+                // Non-blocking target is full
+                break;
+            }
+            transferred += written;
+        }
+        return transferred;
+    }
+
+    @Override
+    public long transferFrom(final ReadableByteChannel src, final long position, final long count) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public MappedByteBuffer map(final MapMode mode, final long position, final long size) throws IOException {
+        if (mode != MapMode.READ_ONLY) {
+            throw new NonWritableChannelException();
+        }
+        if (position < 0 || size < 0 || position + size > content.limit()) {
+            throw new IllegalArgumentException("Region " + position + "+" + size + " out of bounds of "
+                + content.limit() + " bytes");
+        }
+        ensureOpen();
+        final ByteBuffer region = range(position, (int) size).slice().asReadOnlyBuffer();
+        // Buffers outside the heap are mapped buffers themselves; heap content can only be read, not mapped
+        if (!(region instanceof MappedByteBuffer)) {
+            throw new UnsupportedOperationException("Content held in the heap cannot be mapped; read it instead");
+        }
+        return (MappedByteBuffer) region;
+    }
+
+    @Override
+    public FileLock lock(final long position, final long size, final boolean shared) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public FileLock tryLock(final long position, final long size, final boolean shared) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected void implCloseChannel() {
+        // Nothing to release; the content is shared
+    }
+
+    /**
+     * @return A new view of at most the specified number of bytes of the content, starting at the specified position
+     */
+    private ByteBuffer range(final long position, final int length) {
+        final ByteBuffer range = content.duplicate();
+        final int start = (int) position;
+        ((Buffer) range).position(start);
+        ((Buffer) range).limit(start + Math.min(length, content.limit() - start));
+        return range;
+    }
+
+    private void ensureOpen() throws ClosedChannelException {
+        if (!isOpen()) {
+            throw new ClosedChannelException();
+        }
+    }
+}
@@ -19,16 +19,17 @@ package org.jboss.shrinkwrap.impl.base.nio2.file;
 import java.io.IOException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
-import java.util.Map;
+import java.util.NoSuchElementException;
 
 import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.ArchivePaths;
 import org.jboss.shrinkwrap.api.Node;
 
 /**
- * ShrinkWrap implementation of a {@link DirectoryStream}
+ * ShrinkWrap implementation of a {@link DirectoryStream}. Entries are read lazily from the children of the directory
+ * {@link Node}, so listing a directory costs as much as it has children, not as the whole archive.
  *
  * @author <a href="mailto:alr@jboss.org">Andrew Lee Rubinger</a>
  */
@@ -97,33 +98,51 @@ class ShrinkWrapDirectoryStream implements DirectoryStream<Path> {
 
         boolean finishedSuccessfully = true;
         try {
-            // Translate ShrinkWrap API to NIO.2 API Path
-            final Map<ArchivePath, Node> content = this.fs.getArchive().getContent();
-            final Collection<Path> newPaths = new ArrayList<>(content.size());
-            final Collection<ArchivePath> archivePaths = content.keySet();
-            for (final ArchivePath path : archivePaths) {
-                final Path newPath = new ShrinkWrapPath(path, fs);
-
-                if (!newPath.getParent().equals(startingPath)) {
-                    continue;
-                }
+            // Translate ShrinkWrap API to NIO.2 API Path, from the children of the starting directory
+            final ArchivePath archivePath = ArchivePaths.create(startingPath.toString());
+            final Node directory = this.fs.getArchive().get(archivePath);
+
+            // Nodes of nested archives are not listed, as their children have paths within the nested archive
+            final Iterator<Node> children = directory == null || !directory.getPath().equals(archivePath) ? Collections
+                .<Node> emptyIterator() : directory.getChildren().iterator();
 
-                // If we have a filter, and it rejects this path
-                try {
-                    if (filter != null && !(filter.accept(newPath))) {
-                        // Move along
-                        continue;
+            // Return
+            return new Iterator<Path>() {
+
+                private Path next;
+
+                @Override
+                public boolean hasNext() {
+                    // A closed stream behaves as if the end of the directory was reached
+                    while (next == null && !closed && children.hasNext()) {
+                        final Path newPath = new ShrinkWrapPath(children.next().getPath(), fs);
+
+                        // If we have a filter, and it rejects this path
+                        try {
+                            if (filter != null && !(filter.accept(newPath))) {
+                                // Move along
+                                continue;
+                            }
+                        } catch (IOException ioe) {
+                            throw new RuntimeException("Error encountered during filtering", ioe);
+                        }
+
+                        // The filter either wasn't specified or didn't reject this Path
+                        next = newPath;
                     }
-                } catch (IOException ioe) {
-                    throw new RuntimeException("Error encountered during filtering", ioe);
+                    return next != null;
                 }
 
-                // Add the new Path; the filter either wasn't specified or didn't reject this Path
-                newPaths.add(newPath);
-            }
-
-            // Return
-            return newPaths.iterator();
+                @Override
+                public Path next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    final Path path = next;
+                    next = null;
+                    return path;
+                }
+            };
         } catch (Throwable t) {
             finishedSuccessfully = false;
             throw t;
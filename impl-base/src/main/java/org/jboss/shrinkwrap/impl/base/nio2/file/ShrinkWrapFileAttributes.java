@@ -17,7 +17,6 @@
 package org.jboss.shrinkwrap.impl.base.nio2.file;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileTime;
 
@@ -127,14 +126,8 @@ final class ShrinkWrapFileAttributes implements BasicFileAttributes {
         }
 
         final Asset asset = this.getArchive().get(this.path.toString()).getAsset();
-        int totalRead = 0;
-        final byte[] buffer = new byte[1024 * 4];
-        int read;
-        try (InputStream stream = asset.openStream()) {
-            while ((read = stream.read(buffer, 0, buffer.length)) != -1) {
-                totalRead += read;
-            }
-            return totalRead;
+        try {
+            return AssetSizes.sizeOf(asset);
         } catch (final IOException ioe) {
             throw new RuntimeException(ioe);
         }
@@ -17,6 +17,7 @@
 package org.jboss.shrinkwrap.impl.base.nio2.file;
 
 import java.io.IOException;
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
@@ -27,13 +28,19 @@ import java.nio.channels.WritableByteChannel;
 
 /**
  * {@link FileChannel} implementation.
- * Implements only operations defined by {@link SeekableByteChannel} interface.
+ * Implements the operations defined by {@link SeekableByteChannel} interface, and those which may be expressed in
+ * terms of them: scattering and gathering reads and writes, positional reads and writes, and transfers.
  * Other operations throw {@link UnsupportedOperationException}.
  *
  * @author <a href="mailto:ts@bee.kz">Tair Sabirgaliev</a>
  */
 public class ShrinkWrapFileChannel extends FileChannel {
 
+    /**
+     * Size of the buffer used to transfer from and to other channels
+     */
+    private static final int TRANSFER_BUFFER_SIZE = 8192;
+
     SeekableByteChannel delegate;
 
     public ShrinkWrapFileChannel(SeekableByteChannel delegate) {
@@ -46,8 +53,22 @@ public class ShrinkWrapFileChannel extends FileChannel {
     }
 
     @Override
-    public long read(ByteBuffer[] dsts, int offset, int length) {
-        throw new UnsupportedOperationException();
+    public synchronized long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || offset > dsts.length - length) {
+            throw new IndexOutOfBoundsException();
+        }
+        long total = 0;
+        for (int i = offset; i < offset + length; i++) {
+            final int read = delegate.read(dsts[i]);
+            if (read == -1) {
+                return total == 0 ? -1 : total;
+            }
+            total += read;
+            if (dsts[i].hasRemaining()) {
+                break;
+            }
+        }
+        return total;
     }
 
     @Override
@@ -56,8 +77,15 @@ public class ShrinkWrapFileChannel extends FileChannel {
     }
 
     @Override
-    public long write(ByteBuffer[] srcs, int offset, int length) {
-        throw new UnsupportedOperationException();
+    public synchronized long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || offset > srcs.length - length) {
+            throw new IndexOutOfBoundsException();
+        }
+        long total = 0;
+        for (int i = offset; i < offset + length; i++) {
+            total += delegate.write(srcs[i]);
+        }
+        return total;
     }
 
     @Override
@@ -88,23 +116,85 @@ public class ShrinkWrapFileChannel extends FileChannel {
     }
 
     @Override
-    public long transferTo(long position, long count, WritableByteChannel target) {
-        throw new UnsupportedOperationException();
-    }
-
-    @Override
-    public long transferFrom(ReadableByteChannel src, long position, long count) {
-        throw new UnsupportedOperationException();
-    }
-
-    @Override
-    public int read(ByteBuffer dst, long position) {
-        throw new UnsupportedOperationException();
-    }
-
-    @Override
-    public int write(ByteBuffer src, long position) {
-        throw new UnsupportedOperationException();
+    public synchronized long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+        final long saved = delegate.position();
+        try {
+            delegate.position(position);
+            final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(count, TRANSFER_BUFFER_SIZE));
+            long transferred = 0;
+            while (transferred < count) {
+                ((Buffer) buffer).clear();
+                if (count - transferred < buffer.capacity()) {
+                    ((Buffer) buffer).limit((int) (count - transferred));
+                }
+                if (delegate.read(buffer) <= 0) {
+                    break;
+                }
+                ((Buffer) buffer).flip();
+                while (buffer.hasRemaining()) {
+                    final int written = target.write(buffer);
+                    if (written <= 0) {
+                        // Non-blocking target is full
+                        return transferred;
+                    }
+                    transferred += written;
+                }
+            }
+            return transferred;
+        } finally {
+            delegate.position(saved);
+        }
+    }
+
+    @Override
+    public synchronized long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+        if (position > delegate.size()) {
+            return 0;
+        }
+        final long saved = delegate.position();
+        try {
+            delegate.position(position);
+            final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(count, TRANSFER_BUFFER_SIZE));
+            long transferred = 0;
+            while (transferred < count) {
+                ((Buffer) buffer).clear();
+                if (count - transferred < buffer.capacity()) {
+                    ((Buffer) buffer).limit((int) (count - transferred));
+                }
+                if (src.read(buffer) <= 0) {
+                    break;
+                }
+                ((Buffer) buffer).flip();
+                while (buffer.hasRemaining()) {
+                    transferred += delegate.write(buffer);
+                }
+            }
+            return transferred;
+        } finally {
+            delegate.position(saved);
+        }
+    }
+
+    @Override
+    public synchronized int read(ByteBuffer dst, long position) throws IOException {
+        final long saved = delegate.position();
+        try {
+            delegate.position(position);
+            return delegate.read(dst);
+        } finally {
+            delegate.position(saved);
+        }
+    }
+
+    @Override
+    public synchronized int write(ByteBuffer src, long position) throws IOException {
+        final long saved = delegate.position();
+        try {
+            delegate.position(position);
+            return delegate.write(src);
+        } finally {
+            delegate.position(saved);
+        }
     }
 
     @Override
@@ -16,9 +16,7 @@
  */
 package org.jboss.shrinkwrap.impl.base.nio2.file;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.FileStore;
 import java.nio.file.attribute.BasicFileAttributeView;
 import java.nio.file.attribute.FileAttributeView;
@@ -96,14 +94,13 @@ public class ShrinkWrapFileStore extends FileStore {
     }
 
     /**
-     * Iterates through the underlying archive, counting the size of each {@link Asset}, returning the fully-tallied
-     * count in bytes.
+     * Iterates through the underlying archive, summing up the size of each {@link Asset}, returning the fully-tallied
+     * count in bytes. Sizes known in advance are used as they are; others are counted once per asset.
      *
      * @return The total size in bytes of all assets within the archive.
      */
     public long getUsedSpace() {
         long count = 0L;
-        final int bufferSize = 1024 * 8;// Relatively big buffer (8MB); we're just reading
 
         final Map<ArchivePath, Node> contents = archive.getContent();
         final Collection<Node> nodes = contents.values();
@@ -113,13 +110,8 @@ public class ShrinkWrapFileStore extends FileStore {
                 continue; // Directory
             }
 
-            try (InputStream in = new BufferedInputStream(asset.openStream(), bufferSize)) {
-                final byte[] buffer = new byte[bufferSize];
-                int read;
-                while ((read = in.read(buffer)) != -1) {
-                    // Just count
-                    count += read;
-                }
+            try {
+                count += AssetSizes.sizeOf(asset);
             } catch (final IOException ioe) {
                 throw new RuntimeException("Could not count size of archive " + this.archive.getName() + " at "
                         + asset, ioe);
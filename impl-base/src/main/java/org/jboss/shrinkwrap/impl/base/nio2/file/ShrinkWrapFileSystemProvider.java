@@ -55,6 +55,10 @@ import org.jboss.shrinkwrap.api.ArchivePath;
 import org.jboss.shrinkwrap.api.ArchivePaths;
 import org.jboss.shrinkwrap.api.Node;
 import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
+import org.jboss.shrinkwrap.api.asset.ByteBufferAsset;
+import org.jboss.shrinkwrap.api.asset.FileAsset;
+import org.jboss.shrinkwrap.api.asset.MemoryAsset;
 import org.jboss.shrinkwrap.api.asset.MemoryNamedAsset;
 import org.jboss.shrinkwrap.api.nio2.file.SeekableInMemoryByteChannel;
 
@@ -245,7 +249,12 @@ public class ShrinkWrapFileSystemProvider extends FileSystemProvider {
     @Override
     public FileChannel newFileChannel(Path path, Set<? extends OpenOption> options,
             FileAttribute<?>... attrs) throws IOException {
-        return new ShrinkWrapFileChannel(newByteChannel(path, options, attrs));
+        final SeekableByteChannel channel = newByteChannel(path, options, attrs);
+        // Channels reading files or memory in place are file channels already
+        if (channel instanceof FileChannel) {
+            return (FileChannel) channel;
+        }
+        return new ShrinkWrapFileChannel(channel);
     }
 
     /**
@@ -313,6 +322,27 @@ public class ShrinkWrapFileSystemProvider extends FileSystemProvider {
                 + archivePath.get());
         }
 
+        return newReadChannel(asset);
+    }
+
+    /**
+     * Opens a channel to read the specified asset. Content held in a file or in memory is read in place; only other
+     * assets are read into a new in-memory channel.
+     */
+    private SeekableByteChannel newReadChannel(final Asset asset) throws IOException {
+        if (asset instanceof FileAsset) {
+            return FileChannel.open(((FileAsset) asset).getSource().toPath(), StandardOpenOption.READ);
+        }
+        if (asset instanceof ByteArrayAsset) {
+            return new ByteBufferChannel(ByteBuffer.wrap(((ByteArrayAsset) asset).getSource()));
+        }
+        if (asset instanceof ByteBufferAsset) {
+            return new ByteBufferChannel(((ByteBufferAsset) asset).getSource());
+        }
+        if (asset instanceof MemoryAsset) {
+            return new ByteBufferChannel(((MemoryAsset) asset).asReadOnlyBuffer());
+        }
+
         // Existing asset is read into the channel
         try (InputStream in = asset.openStream()) {
             final SeekableByteChannel outChannel = new SeekableInMemoryByteChannel();
@@ -16,9 +16,6 @@
  */
 package org.jboss.shrinkwrap.impl.base.path;
 
-import java.util.logging.Level;
-import java.util.logging.Logger;
-
 import org.jboss.shrinkwrap.api.ArchivePath;
 
 /**
@@ -35,9 +32,9 @@ public class BasicPath implements ArchivePath, Comparable<ArchivePath> {
     // -------------------------------------------------------------------------------------||
 
     /**
-     * Logger
+     * Context of the root
      */
-    private static final Logger log = Logger.getLogger(BasicPath.class.getName());
+    private static final String ROOT_CONTEXT = ArchivePath.SEPARATOR_STRING;
 
     // -------------------------------------------------------------------------------------||
     // Instance Members -------------------------------------------------------------------||
@@ -48,6 +45,26 @@ public class BasicPath implements ArchivePath, Comparable<ArchivePath> {
      */
     private final String context;
 
+    /**
+     * The context without a following slash, by which paths are compared; the context itself if it has none
+     */
+    private final String key;
+
+    /**
+     * Index of the last slash within the key, where the parent context ends; -1 if none
+     */
+    private final int parentEnd;
+
+    /**
+     * Hash of the key
+     */
+    private final int hash;
+
+    /**
+     * The parent, created on first use; racing threads may both create it, as paths are immutable
+     */
+    private ArchivePath parent;
+
     // -------------------------------------------------------------------------------------||
     // Constructor ------------------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
@@ -67,11 +84,21 @@ public class BasicPath implements ArchivePath, Comparable<ArchivePath> {
      *            adjusted to absolute form.
      */
     public BasicPath(final String context) {
-        final String resolvedContext = PathUtil.optionallyPrependSlash(context);
-        if (log.isLoggable(Level.FINER)) {
-            log.finer("Resolved \"" + context + "\" to absolute form: " + resolvedContext);
+        // Adjust to absolute form
+        if (context == null || context.isEmpty()) {
+            this.context = ROOT_CONTEXT;
+        } else if (context.charAt(0) != ArchivePath.SEPARATOR) {
+            this.context = ArchivePath.SEPARATOR + context;
+        } else {
+            this.context = context;
         }
-        this.context = resolvedContext;
+
+        // Normalize once, so that comparisons and hashing need not adjust the context again
+        final int length = this.context.length();
+        this.key = this.context.charAt(length - 1) == ArchivePath.SEPARATOR ? this.context.substring(0, length - 1)
+            : this.context;
+        this.parentEnd = key.lastIndexOf(ArchivePath.SEPARATOR);
+        this.hash = key.hashCode();
     }
 
     /**
@@ -143,7 +170,16 @@ public class BasicPath implements ArchivePath, Comparable<ArchivePath> {
      */
     @Override
     public ArchivePath getParent() {
-        return PathUtil.getParent(this);
+        // No parent for the root
+        if (parentEnd == -1) {
+            return null;
+        }
+        ArchivePath parent = this.parent;
+        if (parent == null) {
+            parent = new BasicPath(parentEnd == 0 ? ROOT_CONTEXT : key.substring(0, parentEnd));
+            this.parent = parent;
+        }
+        return parent;
     }
 
     /**
@@ -160,8 +196,8 @@ public class BasicPath implements ArchivePath, Comparable<ArchivePath> {
         /*
          * Check for parent relationship
          */
-        final ArchivePath parentOfSpecified = PathUtil.getParent(path);
-        final ArchivePath parentOfThis = PathUtil.getParent(this);
+        final ArchivePath parentOfSpecified = path.getParent();
+        final ArchivePath parentOfThis = this.getParent();
         // If we're the parent of the specified, we're less
         if (this.equals(parentOfSpecified)) {
             return -1;
@@ -189,10 +225,7 @@ public class BasicPath implements ArchivePath, Comparable<ArchivePath> {
      */
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + ((context == null) ? 0 : context.hashCode());
-        return result;
+        return hash;
     }
 
     /**
@@ -213,21 +246,8 @@ public class BasicPath implements ArchivePath, Comparable<ArchivePath> {
         }
         final BasicPath other = (BasicPath) obj;
 
-        if (context == null) {
-            if (other.context != null) {
-                return false;
-            }
-        }
-
         // Ensure we treat following slashes equally
-        final String adjustedContext = PathUtil.optionallyRemoveFollowingSlash(context);
-        final String adjustedOther = PathUtil.optionallyRemoveFollowingSlash(other.context);
-        if (!adjustedContext.equals(adjustedOther)) {
-            return false;
-        }
-
-        // No match
-        return true;
+        return hash == other.hash && key.equals(other.key);
     }
 
     /**
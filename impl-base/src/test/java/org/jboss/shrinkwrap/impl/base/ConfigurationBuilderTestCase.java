@@ -163,4 +163,44 @@ public class ConfigurationBuilderTestCase {
                 ExtensionLoader.class.getSimpleName() + " in the config does not match that in the builder");
     }
 
+    /**
+     * Ensures that a null disk buffer threshold is not defaulted, leaving each component to apply its own default
+     */
+    @Test
+    public void doesNotDefaultDiskBufferThreshold() {
+        final Configuration configuration = builder.build();
+        Assertions.assertNull(configuration.getDiskBufferThreshold(),
+                "The builder should not default the disk buffer threshold");
+    }
+
+    /**
+     * Ensures that a user-supplied disk buffer threshold is carried to the {@link Configuration}
+     */
+    @Test
+    public void allowsUserDefinedDiskBufferThreshold() {
+        final Configuration configuration = builder.diskBufferThreshold(1024L).build();
+        Assertions.assertEquals(Long.valueOf(1024L), configuration.getDiskBufferThreshold(),
+                "Building should not override the user-supplied disk buffer threshold");
+    }
+
+    /**
+     * Ensures that a negative disk buffer threshold is rejected
+     */
+    @Test
+    public void rejectsNegativeDiskBufferThreshold() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.diskBufferThreshold(-1L));
+    }
+
+    /**
+     * Ensures that ZIP files are not imported memory-mapped unless requested, and that the request is carried to the
+     * {@link Configuration}
+     */
+    @Test
+    public void allowsMemoryMappedImport() {
+        Assertions.assertFalse(builder.build().isMemoryMappedImport(),
+                "ZIP files should not be imported memory-mapped by default");
+        Assertions.assertTrue(builder.memoryMappedImport(true).build().isMemoryMappedImport(),
+                "Building should not override the user-supplied memory-mapped import mode");
+    }
+
 }
@@ -101,6 +101,53 @@ public class FiltersTestCase {
         Assertions.assertEquals(ArchivePaths.create("/C"), filteredPaths.get(0), "Should only contain C");
     }
 
+    @Test
+    public void shouldIncludeClasses() {
+        List<ArchivePath> paths = Arrays.asList(ArchivePaths.create("/org/jboss/shrinkwrap/api/Filters.class"),
+            ArchivePaths.create("/WEB-INF/classes/org/jboss/shrinkwrap/api/Filters.class"),
+            ArchivePaths.create("/org/jboss/shrinkwrap/api/Filter.class"));
+        List<ArchivePath> filteredPaths = executeFilter(ArchivePath.class, paths, Filters.include(Filters.class));
+
+        Assertions.assertEquals(2, filteredPaths.size(), "Should contain two");
+        Assertions.assertEquals(paths.get(0), filteredPaths.get(0), "Should contain Filters");
+        Assertions.assertEquals(paths.get(1), filteredPaths.get(1), "Should contain Filters under classes");
+    }
+
+    @Test
+    public void shouldExcludePackages() {
+        List<ArchivePath> paths = Arrays.asList(ArchivePaths.create("/org/jboss/shrinkwrap/api/Filters.class"),
+            ArchivePaths.create("/org/junit/jupiter/api/Test.class"));
+        List<ArchivePath> filteredPaths = executeFilter(ArchivePath.class, paths,
+            Filters.exclude(Filters.class.getPackage()));
+
+        Assertions.assertEquals(1, filteredPaths.size(), "Should only contain one");
+        Assertions.assertEquals(paths.get(1), filteredPaths.get(0), "Should only contain Test");
+    }
+
+    @Test
+    public void shouldIncludePathRegExpNotMatchedAsLiteral() {
+        List<ArchivePath> paths = Arrays.asList(ArchivePaths.create("/a.xml"), ArchivePaths.create("/b.xml"),
+            ArchivePaths.create("/a.txt"));
+        List<ArchivePath> filteredPaths = executeFilter(ArchivePath.class, paths, Filters.include("/[ab]\\.xml"));
+
+        Assertions.assertEquals(2, filteredPaths.size(), "Should contain two");
+        Assertions.assertEquals(ArchivePaths.create("/a.xml"), filteredPaths.get(0), "Should contain a.xml");
+        Assertions.assertEquals(ArchivePaths.create("/b.xml"), filteredPaths.get(1), "Should contain b.xml");
+    }
+
+    @Test
+    public void shouldIncludePathRegExpWithWildcardCharacters() {
+        List<ArchivePath> paths = Arrays.asList(ArchivePaths.create("/META-INF/beans.xml"),
+            ArchivePaths.create("/META-INF/beans-xml"), ArchivePaths.create("/WEB-INF/beans.xml"));
+        List<ArchivePath> filteredPaths = executeFilter(ArchivePath.class, paths,
+            Filters.include("/META-INF/.*|.*\\.xml"));
+
+        Assertions.assertEquals(paths, filteredPaths, "Should include by prefix or suffix");
+
+        filteredPaths = executeFilter(ArchivePath.class, paths, Filters.include(".*beans\\.xml"));
+        Assertions.assertEquals(2, filteredPaths.size(), "Escaped dot should only match a dot");
+    }
+
     private <T> List<T> executeFilter(Class<T> clazz, List<T> items, Filter<T> filter) {
         List<T> result = new ArrayList<>();
         for (T item : items) {
@@ -16,6 +16,26 @@
  */
 package org.jboss.shrinkwrap.impl.base;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.shrinkwrap.api.asset.Asset;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -34,4 +54,170 @@ public class URLPackageScannerTestCase {
                 () -> URLPackageScanner.newInstance(true, URLPackageScannerTestCase.class.getClassLoader(),
                         (className, asset) -> {}, null));
     }
+
+    @Test
+    public void shouldScanOnlyPackageOfJar() throws IOException {
+        final File jar = createJar("p/A.class", "pq/B.class", "p/sub/C.class");
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { jar.toURI().toURL() }, null)) {
+            Assertions.assertEquals(Arrays.asList("p.A"), scan(classLoader, false, "p"));
+            Assertions.assertEquals(Arrays.asList("p.A", "p.sub.C"), scan(classLoader, true, "p"));
+        } finally {
+            Assertions.assertTrue(jar.delete());
+        }
+    }
+
+    @Test
+    public void shouldRescanChangedJar() throws IOException {
+        final File jar = createJar("p/A.class");
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { jar.toURI().toURL() }, null)) {
+            Assertions.assertEquals(Arrays.asList("p.A"), scan(classLoader, false, "p"));
+        }
+        writeJar(jar, "p/A.class", "p/B.class");
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { jar.toURI().toURL() }, null)) {
+            Assertions.assertEquals(Arrays.asList("p.A", "p.B"), scan(classLoader, false, "p"),
+                "Cached index of a changed JAR should be rebuilt");
+        } finally {
+            Assertions.assertTrue(jar.delete());
+        }
+    }
+
+    @Test
+    public void shouldFindClassAddedToScannedDirectory() throws IOException {
+        final Path root = Files.createTempDirectory("scanned");
+        final Path directory = Files.createDirectories(root.resolve("p"));
+        final Path first = Files.write(directory.resolve("A.class"), new byte[] { 1 });
+        Path second = null;
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { root.toUri().toURL() }, null)) {
+            Assertions.assertEquals(Arrays.asList("p.A"), scan(classLoader, false, "p"));
+            // Likely within the same tick of the directory's modification time
+            second = Files.write(directory.resolve("B.class"), new byte[] { 2 });
+            Assertions.assertEquals(new HashSet<>(Arrays.asList("p.A", "p.B")), new HashSet<>(scan(classLoader,
+                false, "p")), "Class added to a scanned directory should be found");
+        } finally {
+            for (final Path path : Arrays.asList(first, second, directory, root)) {
+                if (path != null) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldReindexJarOnceCleared() throws IOException {
+        final File jar = createJar("p/A.class");
+        try {
+            final ClassPathIndex.JarIndex index = ClassPathIndex.index(jar);
+            Assertions.assertSame(index, ClassPathIndex.index(jar), "Index of an unchanged JAR should be cached");
+            ClassPathIndex.clear();
+            Assertions.assertNotSame(index, ClassPathIndex.index(jar), "Index should be rebuilt once cleared");
+        } finally {
+            ClassPathIndex.clear();
+            Assertions.assertTrue(jar.delete());
+        }
+    }
+
+    @Test
+    public void shouldReportClassesInOrderOfRoots() throws IOException {
+        final File first = createJar("p/A.class", "p/sub/C.class", "p/B.class");
+        final File second = createJar("p/D.class");
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { first.toURI().toURL(),
+            second.toURI().toURL() }, null)) {
+            for (int i = 0; i < 10; i++) {
+                Assertions.assertEquals(Arrays.asList("p.A", "p.B", "p.sub.C", "p.D"), scan(classLoader, true, "p"),
+                    "Classes should be reported by root, then by directory");
+            }
+        } finally {
+            Assertions.assertTrue(first.delete());
+            Assertions.assertTrue(second.delete());
+        }
+    }
+
+    @Test
+    public void shouldReadClassesFromWhereTheyWereFound() throws IOException {
+        final Path first = Files.createTempDirectory("scanned");
+        final Path second = Files.createTempDirectory("scanned");
+        Files.createDirectories(first.resolve("p"));
+        Files.createDirectories(second.resolve("p"));
+        final Path firstClass = Files.write(first.resolve("p/A.class"), new byte[] { 1 });
+        final Path shadowedClass = Files.write(second.resolve("p/A.class"), new byte[] { 2 });
+        final Path secondClass = Files.write(second.resolve("p/B.class"), new byte[] { 3 });
+        final File third = createJar("p/A.class", "p/C.class");
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { first.toUri().toURL(),
+            second.toUri().toURL(), third.toURI().toURL() }, null) {
+            @Override
+            public URL getResource(final String name) {
+                throw new AssertionError("Class " + name + " should not be looked up again");
+            }
+        }) {
+            final Map<String, List<Integer>> contents = new TreeMap<>();
+            URLPackageScanner.newInstance(false, classLoader, (className, asset) -> contents.computeIfAbsent(
+                className, name -> new ArrayList<>()).add(read(asset)), "p").scanPackage();
+
+            final Map<String, List<Integer>> expected = new TreeMap<>();
+            expected.put("p.A", Arrays.asList(1, 1, 1));
+            expected.put("p.B", Arrays.asList(3));
+            expected.put("p.C", Arrays.asList(0xCA));
+            Assertions.assertEquals(expected, contents,
+                "Classes should be read from the first root they were found in");
+        } finally {
+            for (final Path path : Arrays.asList(firstClass, shadowedClass, secondClass, first.resolve("p"), second
+                .resolve("p"), first, second)) {
+                Files.delete(path);
+            }
+            deleteOnceClosed(third);
+        }
+    }
+
+    private static int read(final Asset asset) {
+        try (InputStream in = asset.openStream()) {
+            return in.read();
+        } catch (final IOException ioe) {
+            throw new AssertionError(ioe);
+        }
+    }
+
+    /**
+     * Deletes a JAR read from, which is closed once idle
+     */
+    private static void deleteOnceClosed(final File jar) {
+        for (int i = 0; i < 100 && !jar.delete(); i++) {
+            try {
+                Thread.sleep(100);
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        Assertions.assertFalse(jar.exists(), "JAR should be closed once its classes are read");
+    }
+
+    private static List<String> scan(final ClassLoader classLoader, final boolean recursive, final String packageName) {
+        final List<String> classNames = new ArrayList<>();
+        URLPackageScanner.newInstance(recursive, classLoader, (className, asset) -> classNames.add(className),
+            packageName).scanPackage();
+        return classNames;
+    }
+
+    private static File createJar(final String... entries) throws IOException {
+        final File jar = File.createTempFile("scanned", ".jar");
+        writeJar(jar, entries);
+        return jar;
+    }
+
+    private static void writeJar(final File jar, final String... entries) throws IOException {
+        // Directory entries let the ClassLoader find the packages
+        final Set<String> directories = new LinkedHashSet<>();
+        for (final String entry : entries) {
+            directories.add(entry.substring(0, entry.lastIndexOf('/') + 1));
+        }
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+            for (final String directory : directories) {
+                out.putNextEntry(new ZipEntry(directory));
+            }
+            for (final String entry : entries) {
+                out.putNextEntry(new ZipEntry(entry));
+                out.write(new byte[] { (byte) 0xCA, (byte) 0xFE });
+            }
+        }
+    }
 }
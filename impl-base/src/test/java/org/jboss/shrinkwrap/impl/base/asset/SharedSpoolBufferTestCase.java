@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.asset;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+import org.jboss.shrinkwrap.impl.base.io.SpoolBuffer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * TestCase to ensure that a {@link SharedSpoolBuffer} hands its buffer over once sealed, and releases it.
+ */
+public class SharedSpoolBufferTestCase {
+
+    @Test
+    public void shouldReleaseSpilledBuffer() throws IOException {
+        final SpoolBuffer buffer = new SpoolBuffer(0);
+        final SharedSpoolBuffer shared = new SharedSpoolBuffer(buffer);
+        buffer.write("first,second".getBytes(StandardCharsets.UTF_8));
+        shared.seal();
+        Assertions.assertTrue(buffer.isSpilled(), "Buffer should be spilled beyond its threshold");
+
+        try (InputStream in = shared.openStream(6, 6)) {
+            Assertions.assertEquals("second", new String(IOUtil.asByteArray(in), StandardCharsets.UTF_8));
+        }
+
+        shared.release();
+        Assertions.assertThrows(IOException.class, () -> shared.openStream(0, 5), "Buffer should be closed");
+
+        // Releasing again is harmless
+        shared.release();
+    }
+
+    @Test
+    public void shouldRejectWritesOnceSealed() throws IOException {
+        final SpoolBuffer buffer = new SpoolBuffer(SpoolBuffer.DEFAULT_THRESHOLD);
+        final SharedSpoolBuffer shared = new SharedSpoolBuffer(buffer);
+        buffer.write("first".getBytes(StandardCharsets.UTF_8));
+        shared.seal();
+        Assertions.assertFalse(buffer.isSpilled(), "Buffer should stay in memory below its threshold");
+
+        Assertions.assertThrows(IOException.class, () -> buffer.write(0), "Buffer should be sealed");
+        try (InputStream in = shared.openStream(0, 5)) {
+            Assertions.assertEquals("first", new String(IOUtil.asByteArray(in), StandardCharsets.UTF_8));
+        }
+
+        shared.release();
+        Assertions.assertThrows(IOException.class, () -> shared.openStream(0, 5), "Buffer should be closed");
+    }
+}
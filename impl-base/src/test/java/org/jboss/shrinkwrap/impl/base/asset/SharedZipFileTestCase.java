@@ -0,0 +1,121 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.asset;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * TestCase to ensure that a {@link SharedZipFile} releases the underlying file once its entries have been read.
+ */
+public class SharedZipFileTestCase {
+
+    @Test
+    public void shouldCloseWithLastStreamWithoutIdleTimeout() throws IOException {
+        final File file = createZip("a.txt", "b.txt");
+        final SharedZipFile zipFile = new SharedZipFile(file, 0, TimeUnit.MILLISECONDS);
+        try (ZipFile entries = new ZipFile(file)) {
+            final InputStream first = zipFile.openStream(entries.getEntry("a.txt"));
+            try (InputStream second = zipFile.openStream(entries.getEntry("b.txt"))) {
+                Assertions.assertEquals("b.txt", new String(IOUtil.asByteArray(second), StandardCharsets.UTF_8));
+            }
+            Assertions.assertTrue(zipFile.isOpen(), "File should stay open while a stream is open");
+            first.close();
+            Assertions.assertFalse(zipFile.isOpen(), "File should be closed with the last stream");
+
+            // Reopened on demand
+            try (InputStream again = zipFile.openStream(entries.getEntry("a.txt"))) {
+                Assertions.assertEquals("a.txt", new String(IOUtil.asByteArray(again), StandardCharsets.UTF_8));
+            }
+            Assertions.assertFalse(zipFile.isOpen());
+        }
+        Assertions.assertTrue(file.delete(), "File should be deletable once its entries have been read");
+    }
+
+    @Test
+    public void shouldCloseOnceIdle() throws Exception {
+        final File file = createZip("a.txt", "b.txt", "c.txt");
+        final SharedZipFile zipFile = new SharedZipFile(file, 50, TimeUnit.MILLISECONDS);
+        try (ZipFile entries = new ZipFile(file)) {
+            final Enumeration<? extends ZipEntry> enumeration = entries.entries();
+            while (enumeration.hasMoreElements()) {
+                final ZipEntry entry = enumeration.nextElement();
+                try (InputStream in = zipFile.openStream(entry)) {
+                    Assertions.assertEquals(entry.getName(), new String(IOUtil.asByteArray(in),
+                        StandardCharsets.UTF_8));
+                }
+            }
+        }
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (zipFile.isOpen() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertFalse(zipFile.isOpen(), "File should be closed once idle");
+        Assertions.assertTrue(file.delete(), "File should be deletable once its entries have been read");
+    }
+
+    @Test
+    public void shouldFailOnceFileChanged() throws IOException {
+        final File file = createZip("a.txt");
+        final SharedZipFile zipFile = new SharedZipFile(file, 0, TimeUnit.MILLISECONDS);
+        final ZipEntry entry;
+        try (ZipFile entries = new ZipFile(file)) {
+            entry = entries.getEntry("a.txt");
+        }
+        try (InputStream in = zipFile.openStream(entry)) {
+            Assertions.assertEquals("a.txt", new String(IOUtil.asByteArray(in), StandardCharsets.UTF_8));
+        }
+
+        // Rewrite the file, so that the recorded entry no longer describes it
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file))) {
+            out.putNextEntry(new ZipEntry("a.txt"));
+            out.write("changed".getBytes(StandardCharsets.UTF_8));
+        }
+        Assertions.assertTrue(file.setLastModified(file.lastModified() + 2000));
+
+        Assertions.assertThrows(IOException.class, () -> zipFile.openStream(entry), "Changed file should not be read");
+        Assertions.assertFalse(zipFile.isOpen());
+        Assertions.assertTrue(file.delete());
+    }
+
+    /**
+     * Creates a ZIP with entries holding their own names
+     */
+    private static File createZip(final String... names) throws IOException {
+        final File file = File.createTempFile("shared", ".zip");
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file))) {
+            for (final String name : names) {
+                out.putNextEntry(new ZipEntry(name));
+                out.write(name.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return file;
+    }
+}
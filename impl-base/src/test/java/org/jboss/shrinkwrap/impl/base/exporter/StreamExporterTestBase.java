@@ -126,6 +126,46 @@ public abstract class StreamExporterTestBase<T extends StreamImporter<T>> extend
         }
     }
 
+    /**
+     * Test to make sure the exported stream yields the same content whether it is consumed with single-byte or bulk
+     * reads, interleaved arbitrarily.
+     */
+    @Test
+    public void testExportMixedReads() throws Exception {
+        log.info("testExportMixedReads");
+
+        // Get an archive instance
+        Archive<?> archive = createArchiveWithAssets();
+
+        // Export as InputStream, alternating read methods and buffer sizes
+        final File tempDirectory = createTempDirectory("testExportMixedReads");
+        final File serialized = new File(tempDirectory, archive.getName());
+        try (final InputStream exportStream = this.exportAsInputStream(archive);
+             final FileOutputStream out = new FileOutputStream(serialized)) {
+            final byte[] buffer = new byte[8192];
+            int iteration = 0;
+            while (true) {
+                if (iteration++ % 2 == 0) {
+                    final int b = exportStream.read();
+                    if (b == -1) {
+                        break;
+                    }
+                    out.write(b);
+                } else {
+                    final int read = exportStream.read(buffer, 1, iteration % buffer.length);
+                    if (read == -1) {
+                        break;
+                    }
+                    out.write(buffer, 1, read);
+                }
+            }
+            Assertions.assertEquals(-1, exportStream.read(), "Exhausted stream should keep returning EOF");
+        }
+
+        // Validate
+        ensureInExpectedForm(serialized);
+    }
+
     /**
      * Test to ensure that the export process accepts an archive with only directories, no assets.
      */
@@ -384,7 +424,7 @@ public abstract class StreamExporterTestBase<T extends StreamImporter<T>> extend
      * @author <a href="mailto:andrew.rubinger@jboss.org">ALR</a>
      * @version $Revision: $
      */
-    private static class CountingExecutorService implements ExecutorService {
+    static class CountingExecutorService implements ExecutorService {
 
         private final ExecutorService delegate;
 
@@ -0,0 +1,144 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.exporter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.logging.Logger;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
+import org.jboss.shrinkwrap.api.exporter.StreamExporter;
+import org.jboss.shrinkwrap.api.exporter.TarExporter;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.exporter.ZipStoredExporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Throughput comparison between pulling an export through {@link StreamExporter#exportAsInputStream()} and pushing it
+ * with {@link StreamExporter#exportTo(OutputStream)}, which encodes straight into the target without an intermediate
+ * buffer. Both figures are logged for each format.
+ */
+public class StreamExporterThroughputStressTest {
+
+    private static final Logger log = Logger.getLogger(StreamExporterThroughputStressTest.class.getName());
+
+    private static final int ENTRIES = 256;
+
+    private static final int ENTRY_SIZE = 256 * 1024;
+
+    private static final int ROUNDS = 5;
+
+    @Test
+    public void compareZip() throws IOException {
+        compare(ZipExporter.class);
+    }
+
+    @Test
+    public void compareZipStored() throws IOException {
+        compare(ZipStoredExporter.class);
+    }
+
+    @Test
+    public void compareTar() throws IOException {
+        compare(TarExporter.class);
+    }
+
+    private void compare(final Class<? extends StreamExporter> exporter) throws IOException {
+        final Archive<?> archive = createArchive();
+
+        // Warm up both paths
+        pull(archive, exporter);
+        push(archive, exporter);
+
+        long pullNanos = 0;
+        long pushNanos = 0;
+        long pullBytes = 0;
+        long pushBytes = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            pullBytes = pull(archive, exporter);
+            pullNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            pushBytes = push(archive, exporter);
+            pushNanos += System.nanoTime() - start;
+        }
+
+        // Entry timestamps may differ between runs, but the amount of data may not change much
+        Assertions.assertEquals(pullBytes, pushBytes, pullBytes / 100.0);
+        log.info(exporter.getSimpleName() + " pull: " + megaBytesPerSecond(pullBytes * ROUNDS, pullNanos)
+            + " MB/s, push: " + megaBytesPerSecond(pushBytes * ROUNDS, pushNanos) + " MB/s");
+    }
+
+    private static long pull(final Archive<?> archive, final Class<? extends StreamExporter> exporter)
+        throws IOException {
+        final CountingOutputStream out = new CountingOutputStream();
+        try (InputStream in = archive.as(exporter).exportAsInputStream()) {
+            IOUtil.copy(in, out);
+        }
+        return out.bytesWritten;
+    }
+
+    private static long push(final Archive<?> archive, final Class<? extends StreamExporter> exporter) {
+        final CountingOutputStream out = new CountingOutputStream();
+        archive.as(exporter).exportTo(out);
+        return out.bytesWritten;
+    }
+
+    private static Archive<?> createArchive() {
+        final JavaArchive archive = ShrinkWrap.create(JavaArchive.class, "throughput.jar");
+        final Random random = new Random(0);
+        for (int i = 0; i < ENTRIES; i++) {
+            // Half random, half repetitive content, so compression has some work to do
+            final byte[] content = new byte[ENTRY_SIZE];
+            random.nextBytes(content);
+            for (int j = ENTRY_SIZE / 2; j < ENTRY_SIZE; j++) {
+                content[j] = (byte) (j % 7);
+            }
+            archive.add(new ByteArrayAsset(content), "entry" + i);
+        }
+        return archive;
+    }
+
+    private static long megaBytesPerSecond(final long bytes, final long nanos) {
+        return nanos == 0 ? 0 : (bytes * 1000L) / nanos;
+    }
+
+    /**
+     * {@link OutputStream} which does nothing but count the bytes written
+     */
+    private static class CountingOutputStream extends OutputStream {
+        long bytesWritten = 0;
+
+        @Override
+        public void write(final int b) {
+            bytesWritten++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            bytesWritten += len;
+        }
+    }
+}
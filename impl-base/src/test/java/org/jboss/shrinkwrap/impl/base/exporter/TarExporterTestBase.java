@@ -16,19 +16,27 @@
  */
 package org.jboss.shrinkwrap.impl.base.exporter;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Random;
 
+import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ArchivePath;
 import org.jboss.shrinkwrap.api.ArchivePaths;
+import org.jboss.shrinkwrap.api.ConfigurationBuilder;
+import org.jboss.shrinkwrap.api.Domain;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
 import org.jboss.shrinkwrap.api.asset.Asset;
 import org.jboss.shrinkwrap.api.importer.StreamImporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
 import org.jboss.shrinkwrap.impl.base.io.IOUtil;
 import org.jboss.shrinkwrap.impl.base.io.tar.TarEntry;
 import org.jboss.shrinkwrap.impl.base.io.tar.TarInputStream;
 import org.jboss.shrinkwrap.impl.base.path.PathUtil;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 
 /**
  * TestCase to ensure that the TAR exporters are working as contracted
@@ -97,7 +105,34 @@ public abstract class TarExporterTestBase<T extends StreamImporter<T>> extends S
     // Tests ------------------------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
 
-    // Inherited
+    /**
+     * Ensures that entries of unknown size larger than the configured disk buffer threshold are spilled and still
+     * exported intact
+     */
+    @Test
+    public void testExportSpillsEntriesBeyondDiskBufferThreshold() throws IOException {
+        // Create an archive in a domain which keeps only a few bytes of each entry in memory
+        final Domain domain = ShrinkWrap.createDomain(new ConfigurationBuilder().diskBufferThreshold(16L));
+        final byte[] content = new byte[64 * 1024];
+        new Random(0).nextBytes(content);
+        // An asset which does not advertise its size, so the entry has to be buffered before its header is written
+        final Asset asset = new Asset() {
+            @Override
+            public InputStream openStream() {
+                return new ByteArrayInputStream(content);
+            }
+        };
+        final Archive<?> archive = domain.getArchiveFactory().create(JavaArchive.class, NAME_ARCHIVE)
+            .add(asset, PATH_ONE);
+
+        // Export
+        final File tempDirectory = createTempDirectory("testExportSpillsEntriesBeyondDiskBufferThreshold");
+        final File exported = new File(tempDirectory, NAME_ARCHIVE + getArchiveExtension());
+        archive.as(getExporterClass()).exportTo(exported);
+
+        // Validate
+        assertAssetInTar(exported, PATH_ONE, asset);
+    }
 
     // -------------------------------------------------------------------------------------||
     // Internal Helper Methods ------------------------------------------------------------||
@@ -20,13 +20,20 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Enumeration;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
+import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.ConfigurationBuilder;
+import org.jboss.shrinkwrap.api.Domain;
+import org.jboss.shrinkwrap.api.Node;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
 import org.jboss.shrinkwrap.api.asset.Asset;
 import org.jboss.shrinkwrap.api.asset.FileAsset;
+import org.jboss.shrinkwrap.api.exporter.ArchiveExportException;
 import org.jboss.shrinkwrap.api.exporter.FileExistsException;
 import org.jboss.shrinkwrap.api.exporter.StreamExporter;
 import org.jboss.shrinkwrap.api.exporter.ZipExporter;
@@ -191,6 +198,81 @@ public final class ZipExporterTestCase extends StreamExporterTestBase<ZipImporte
         Assertions.assertEquals(file1.length(), file2.length());
     }
 
+    /**
+     * Ensures that archives in a domain configured with an {@link java.util.concurrent.ExecutorService} are
+     * compressed on it, and still export to a valid ZIP in archive order
+     */
+    @Test
+    public void testExportParallel() throws IOException {
+        final CountingExecutorService service = new CountingExecutorService();
+        try {
+            final Domain domain = ShrinkWrap.createDomain(new ConfigurationBuilder().executorService(service));
+            final Archive<?> archive = domain.getArchiveFactory().create(JavaArchive.class, "parallel.jar")
+                .merge(createArchiveWithAssets());
+
+            // Export
+            final File exported = new File(createTempDirectory("testExportParallel"), archive.getName());
+            archive.as(ZipExporter.class).exportTo(exported, true);
+
+            // Validate
+            this.ensureInExpectedForm(exported);
+            Assertions.assertTrue(service.counter > 0, "Entries should have been compressed on the executor");
+            try (final ZipFile zip = new ZipFile(exported)) {
+                final Enumeration<? extends ZipEntry> entries = zip.entries();
+                for (final Node node : archive.getContent().values()) {
+                    final String name = PathUtil.optionallyRemovePrecedingSlash(node.getPath().get());
+                    Assertions.assertEquals(node.getAsset() == null ? PathUtil.optionallyAppendSlash(name) : name,
+                        entries.nextElement().getName(), "Entries should be written in archive order");
+                }
+                Assertions.assertFalse(entries.hasMoreElements());
+            }
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    /**
+     * Ensures that a failing asset aborts the parallel export, closing the asset stream and the exported stream
+     */
+    @Test
+    public void testExportParallelAbortsOnFailure() throws IOException {
+        final CountingExecutorService service = new CountingExecutorService();
+        try {
+            final Domain domain = ShrinkWrap.createDomain(new ConfigurationBuilder().executorService(service));
+            final AtomicBoolean closed = new AtomicBoolean();
+            final Archive<?> archive = domain.getArchiveFactory().create(JavaArchive.class, "failing.jar")
+                .merge(createArchiveWithAssets())
+                .add(() -> new InputStream() {
+                    private int read = 0;
+
+                    @Override
+                    public int read() throws IOException {
+                        if (read++ >= 10000) {
+                            throw new IOException("Failing asset");
+                        }
+                        return 'x';
+                    }
+
+                    @Override
+                    public void close() {
+                        closed.set(true);
+                    }
+                }, "failing.txt");
+
+            final InputStream exported = archive.as(ZipExporter.class).exportAsInputStream();
+            Assertions.assertThrows(ArchiveExportException.class, () -> {
+                final byte[] buffer = new byte[4096];
+                while (exported.read(buffer) != -1) {
+                    // Keep reading until the failing asset is reached
+                }
+            });
+            Assertions.assertTrue(closed.get(), "Asset stream should be closed");
+            Assertions.assertThrows(IOException.class, exported::read, "Export should be aborted");
+        } finally {
+            service.shutdown();
+        }
+    }
+
     // -------------------------------------------------------------------------------------||
     // Internal Helper Methods ------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
@@ -34,6 +34,7 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -156,6 +157,25 @@ public final class ZipStoredExporterTestCase extends StreamExporterTestBase<ZipI
         }
     }
 
+    @Test
+    public void shouldOpenEachAssetOnlyOnce() throws IOException {
+
+        final AtomicInteger opened = new AtomicInteger();
+        final Asset countingAsset = () -> {
+            opened.incrementAndGet();
+            return new ByteArrayInputStream("My file content".getBytes());
+        };
+
+        final File target = new File(createTempDirectory("shouldOpenEachAssetOnlyOnce"), "test-exporter.zip");
+        ShrinkWrap.create(JavaArchive.class).add(countingAsset, "content.txt")
+                .as(ZipStoredExporter.class).exportTo(target, true);
+
+        Assertions.assertEquals(1, opened.get(), "STORED export should read each asset exactly once");
+        try (final InputStream contents = getContentsFromExportedFile(target, ArchivePaths.create("/content.txt"))) {
+            Assertions.assertEquals("My file content", new String(IOUtil.asByteArray(contents)));
+        }
+    }
+
     // -------------------------------------------------------------------------------------||
     // Internal Helper Methods ------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
@@ -0,0 +1,201 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.exporter.zip;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * TestCase to ensure that {@link ParallelZipOutputStream} writes valid ZIPs whose bytes do not depend on the order in
+ * which entries finish compressing.
+ */
+public class ParallelZipOutputStreamTestCase {
+
+    private static final long TIME = 1700000000000L;
+
+    @Test
+    public void shouldWriteSameBytesRegardlessOfScheduling() throws IOException {
+        final Map<String, byte[]> entries = createEntries();
+        final ExecutorService serial = Executors.newSingleThreadExecutor();
+        final ExecutorService jittering = new JitteringExecutor(4);
+        try {
+            final byte[] expected = write(entries, serial, 1, ParallelZipOutputStream.DEFAULT_STREAMING_THRESHOLD);
+            for (int i = 0; i < 3; i++) {
+                Assertions.assertArrayEquals(expected, write(entries, jittering, 8,
+                    ParallelZipOutputStream.DEFAULT_STREAMING_THRESHOLD), "Output should not depend on scheduling");
+            }
+            assertContents(entries, expected);
+        } finally {
+            serial.shutdown();
+            jittering.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldStreamEntriesBeyondThreshold() throws IOException {
+        final Map<String, byte[]> entries = createEntries();
+        final ExecutorService jittering = new JitteringExecutor(4);
+        try {
+            final byte[] zip = write(entries, jittering, 8, 4096);
+            Assertions.assertArrayEquals(zip, write(entries, jittering, 8, 4096),
+                "Output should not depend on scheduling");
+            assertContents(entries, zip);
+        } finally {
+            jittering.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldAnnounceZip64InLocalHeaderOfStreamedEntries() throws IOException {
+        final Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("streamed.bin", new byte[10000]);
+        final ExecutorService serial = Executors.newSingleThreadExecutor();
+        try {
+            final byte[] zip = write(entries, serial, 1, 4096);
+            final ByteBuffer header = ByteBuffer.wrap(zip).order(ByteOrder.LITTLE_ENDIAN);
+            final int nameLength = header.getShort(26);
+            Assertions.assertEquals(45, header.getShort(4), "Version needed should be ZIP64");
+            Assertions.assertEquals(20, header.getShort(28), "Local header should hold a ZIP64 extra field");
+            Assertions.assertEquals(0x0001, header.getShort(30 + nameLength));
+            Assertions.assertEquals(0L, header.getLong(34 + nameLength), "Size should follow in the data descriptor");
+            Assertions.assertEquals(0L, header.getLong(42 + nameLength),
+                "Compressed size should follow in the data descriptor");
+            assertContents(entries, zip);
+        } finally {
+            serial.shutdown();
+        }
+    }
+
+    private static Map<String, byte[]> createEntries() {
+        final Map<String, byte[]> entries = new LinkedHashMap<>();
+        final Random random = new Random(0);
+        entries.put("META-INF/", new byte[0]);
+        for (int i = 0; i < 40; i++) {
+            // Sizes both below and beyond the threshold, half random and half repetitive content
+            final byte[] content = new byte[random.nextInt(3) == 0 ? 20000 + random.nextInt(20000) : random
+                .nextInt(4000)];
+            random.nextBytes(content);
+            for (int j = content.length / 2; j < content.length; j++) {
+                content[j] = (byte) (j % 7);
+            }
+            entries.put("org/jboss/Entry" + i + ".class", content);
+        }
+        entries.put("empty.txt", new byte[0]);
+        return entries;
+    }
+
+    private static byte[] write(final Map<String, byte[]> entries, final ExecutorService executor, final int window,
+        final int streamingThreshold) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ParallelZipOutputStream out = new ParallelZipOutputStream(bytes, executor, window, TIME,
+            streamingThreshold)) {
+            for (final Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                out.putNextEntry(entry.getKey());
+                // Written in parts, as exporters copy assets
+                final byte[] content = entry.getValue();
+                for (int off = 0; off < content.length; off += 1000) {
+                    out.write(content, off, Math.min(1000, content.length - off));
+                }
+                out.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Ensures that the ZIP holds the entries in order, as read from its central directory and as streamed
+     */
+    private static void assertContents(final Map<String, byte[]> entries, final byte[] zip) throws IOException {
+        final File file = File.createTempFile("parallel", ".zip");
+        try {
+            Files.write(file.toPath(), zip);
+            try (ZipFile zipFile = new ZipFile(file)) {
+                Assertions.assertEquals(entries.size(), zipFile.size());
+                for (final Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                    final ZipEntry zipEntry = zipFile.getEntry(entry.getKey());
+                    Assertions.assertNotNull(zipEntry, "Entry not found: " + entry.getKey());
+                    try (InputStream in = zipFile.getInputStream(zipEntry)) {
+                        Assertions.assertArrayEquals(entry.getValue(), read(in));
+                    }
+                }
+            }
+        } finally {
+            Assertions.assertTrue(file.delete());
+        }
+
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            for (final Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                Assertions.assertEquals(entry.getKey(), in.getNextEntry().getName());
+                Assertions.assertArrayEquals(entry.getValue(), read(in));
+            }
+            Assertions.assertNull(in.getNextEntry());
+        }
+    }
+
+    /**
+     * Reads the rest of the stream, leaving it open
+     */
+    private static byte[] read(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Executor delaying each task by a random amount, so that entries finish compressing out of order
+     */
+    private static final class JitteringExecutor extends ThreadPoolExecutor {
+
+        private JitteringExecutor(final int threads) {
+            super(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        }
+
+        @Override
+        protected void beforeExecute(final Thread t, final Runnable r) {
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextInt(5));
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
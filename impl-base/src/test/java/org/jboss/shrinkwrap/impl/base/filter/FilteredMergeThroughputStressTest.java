@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.filter;
+
+import java.util.logging.Logger;
+
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.Filter;
+import org.jboss.shrinkwrap.api.Filters;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Throughput of merging a large archive through the Regular Expression based {@link Filters}: the package and class
+ * filters, matched without a regular expression engine, and a general expression, compiled once. Runs in the stress
+ * profile; compare the logged figures.
+ */
+public class FilteredMergeThroughputStressTest {
+
+    private static final Logger log = Logger.getLogger(FilteredMergeThroughputStressTest.class.getName());
+
+    private static final int ENTRIES = 100000;
+
+    private static final int PACKAGES = 100;
+
+    private static final int ROUNDS = 5;
+
+    @Test
+    public void mergePackage() {
+        merge("package", Filters.include(Filters.class.getPackage()), 0);
+    }
+
+    @Test
+    public void mergeClass() {
+        merge("class", Filters.exclude(Filters.class), ENTRIES);
+    }
+
+    @Test
+    public void mergeRegExp() {
+        merge("regexp", Filters.include("/org/jboss/shrinkwrap/package[0-4]/.*"), ENTRIES / 20);
+    }
+
+    private void merge(final String name, final Filter<ArchivePath> filter, final int expected) {
+        final JavaArchive source = ShrinkWrap.create(JavaArchive.class);
+        for (int i = 0; i < ENTRIES; i++) {
+            source.add(EmptyAsset.INSTANCE, "/org/jboss/shrinkwrap/package" + (i % PACKAGES) + "/Type" + i + ".class");
+        }
+
+        // Warm up
+        merge(source, filter);
+
+        long nanos = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            final long start = System.nanoTime();
+            final Archive<?> target = merge(source, filter);
+            nanos += System.nanoTime() - start;
+            Assertions.assertTrue(target.getContent().size() >= expected, "Filtered entries should be merged");
+        }
+        log.info("Filtered merge (" + name + ") of " + ENTRIES + " entries: " + nanos / ROUNDS / 1000000 + " ms");
+    }
+
+    private static Archive<?> merge(final Archive<?> source, final Filter<ArchivePath> filter) {
+        return ShrinkWrap.create(JavaArchive.class).merge(source, filter);
+    }
+}
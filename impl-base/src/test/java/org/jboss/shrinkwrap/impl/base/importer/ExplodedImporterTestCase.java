@@ -17,7 +17,10 @@
 package org.jboss.shrinkwrap.impl.base.importer;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Objects;
 import java.util.logging.Logger;
 
@@ -26,6 +29,7 @@ import org.jboss.shrinkwrap.api.Filters;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
 import org.jboss.shrinkwrap.api.asset.StringAsset;
 import org.jboss.shrinkwrap.api.exporter.ExplodedExporter;
+import org.jboss.shrinkwrap.api.importer.ArchiveImportException;
 import org.jboss.shrinkwrap.api.importer.ExplodedImporter;
 import org.jboss.shrinkwrap.api.spec.JavaArchive;
 import org.jboss.shrinkwrap.api.spec.WebArchive;
@@ -140,6 +144,41 @@ public class ExplodedImporterTestCase {
         Assertions.assertTrue(archive.contains(new BasicPath("/parent/empty_dir")),"Nested empty directories should be imported");
     }
 
+    @Test
+    public void shouldNotImportSubtreeOfExcludedDirectory() throws Exception {
+        String fileName = Objects.requireNonNull(SecurityActions.getThreadContextClassLoader().getResource(EXISTING_DIRECTORY_RESOURCE))
+                .toURI().getPath();
+
+        Archive<?> archive = ShrinkWrap
+            .create(ExplodedImporter.class, "test.jar")
+            .importDirectory(fileName, Filters.exclude("/org"))
+            .as(JavaArchive.class);
+
+        Assertions.assertTrue(archive.contains(new BasicPath("/Test.properties")), "Root files should be imported");
+        Assertions.assertFalse(archive.contains(new BasicPath("/org/jboss/Test.properties")),
+            "Files below an excluded directory should not be imported");
+    }
+
+    @Test
+    public void shouldThrowExceptionIfImportingASymbolicLinkLoop() throws Exception {
+        final Path root = Files.createTempDirectory("shouldThrowExceptionIfImportingASymbolicLinkLoop");
+        final Path loop = root.resolve("loop");
+        try {
+            Files.createSymbolicLink(loop, root);
+        } catch (final UnsupportedOperationException | IOException e) {
+            // Symbolic links are not supported on this file system
+            Files.delete(root);
+            return;
+        }
+        try {
+            Assertions.assertThrows(ArchiveImportException.class, () ->
+                ShrinkWrap.create(ExplodedImporter.class, "test.jar").importDirectory(root.toFile()));
+        } finally {
+            Files.delete(loop);
+            Files.delete(root);
+        }
+    }
+
     @Test // SHRINKWRAP-392
     public void shouldHaveEmptyDefaultExtension() {
         ExplodedImporter explodedImporter = ShrinkWrap.create(ExplodedImporter.class);
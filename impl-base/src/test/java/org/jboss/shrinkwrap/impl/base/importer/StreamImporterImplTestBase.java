@@ -19,6 +19,8 @@ package org.jboss.shrinkwrap.impl.base.importer;
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ArchiveFormat;
 import org.jboss.shrinkwrap.api.ArchivePaths;
+import org.jboss.shrinkwrap.api.ConfigurationBuilder;
+import org.jboss.shrinkwrap.api.Domain;
 import org.jboss.shrinkwrap.api.Filters;
 import org.jboss.shrinkwrap.api.GenericArchive;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
@@ -225,6 +227,30 @@ public abstract class StreamImporterImplTestBase<T extends StreamImporter<T>> {
         }
     }
 
+    /**
+     * Ensures that we may import an archive as a stream buffered on disk, beyond a disk buffer threshold of zero, and
+     * the contents will be as expected
+     *
+     * @throws Exception
+     */
+    @Test
+    public void shouldBeAbleToImportInputStreamBufferedOnDisk() throws Exception {
+        final ContentAssertionDelegateBase delegate = this.getDelegate();
+        assert delegate != null : "Delegate must be specified by implementations";
+        final File testFile = delegate.getExistingResource();
+
+        try (final InputStream stream = new FileInputStream(testFile)) {
+            // Import as a stream, in a domain buffering nothing in memory
+            final Domain domain = ShrinkWrap.createDomain(new ConfigurationBuilder().diskBufferThreshold(0L));
+            final T importer = domain.getArchiveFactory().create(this.getImporterClass(), "test.jar");
+            final Archive<?> archive = importer.importFrom(stream).as(GenericArchive.class);
+            Assertions.assertNotNull(archive, "Should not return a null archive");
+
+            // Ensure the archive matches the file input
+            delegate.assertContent(archive, testFile);
+        }
+    }
+
     /**
      * Ensures that we may import an archive as a stream, and the contents will be as expected with filter
      *
@@ -17,15 +17,23 @@
 package org.jboss.shrinkwrap.impl.base.importer;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 
+import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ArchiveFormat;
+import org.jboss.shrinkwrap.api.GenericArchive;
+import org.jboss.shrinkwrap.api.Node;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
 import org.jboss.shrinkwrap.api.exporter.StreamExporter;
 import org.jboss.shrinkwrap.api.exporter.TarExporter;
 import org.jboss.shrinkwrap.api.importer.TarImporter;
+import org.jboss.shrinkwrap.impl.base.asset.FileRangeAsset;
 import org.jboss.shrinkwrap.impl.base.importer.tar.TarImporterImpl;
 import org.jboss.shrinkwrap.impl.base.io.tar.TarInputStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 
 /**
  * TestCase to verify the {@link TarImporterImpl} functionality.
@@ -44,6 +52,29 @@ public class TarImporterImplTestCase extends StreamImporterImplTestBase<TarImpor
      */
     private static final TarContentAssertionDelegate delegate = new TarContentAssertionDelegate();
 
+    // -------------------------------------------------------------------------------------||
+    // Tests -------------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Ensures that the entries of an uncompressed file are indexed rather than read, and read in place on demand
+     *
+     * @throws Exception
+     */
+    @Test
+    public void shouldReadFileEntriesInPlace() throws Exception {
+        final File testFile = delegate.getExistingResource();
+        final Archive<?> archive = ShrinkWrap.create(TarImporter.class, "test.tar").importFrom(testFile)
+            .as(GenericArchive.class);
+        for (final Node node : archive.getContent().values()) {
+            if (node.getAsset() != null) {
+                Assertions.assertTrue(node.getAsset() instanceof FileRangeAsset,
+                    "Entry " + node.getPath() + " should be read in place");
+            }
+        }
+        delegate.assertContent(archive, testFile);
+    }
+
     // -------------------------------------------------------------------------------------||
     // Required Implementations ------------------------------------------------------------||
     // -------------------------------------------------------------------------------------||
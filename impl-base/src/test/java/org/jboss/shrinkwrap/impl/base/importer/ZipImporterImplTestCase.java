@@ -16,27 +16,36 @@
  */
 package org.jboss.shrinkwrap.impl.base.importer;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.Enumeration;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
 
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ArchiveFormat;
+import org.jboss.shrinkwrap.api.ConfigurationBuilder;
+import org.jboss.shrinkwrap.api.Domain;
 import org.jboss.shrinkwrap.api.GenericArchive;
 import org.jboss.shrinkwrap.api.Node;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
 import org.jboss.shrinkwrap.api.asset.Asset;
-import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
 import org.jboss.shrinkwrap.api.exporter.StreamExporter;
 import org.jboss.shrinkwrap.api.exporter.ZipExporter;
 import org.jboss.shrinkwrap.api.importer.ArchiveImportException;
 import org.jboss.shrinkwrap.api.importer.ZipImporter;
 import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.shrinkwrap.impl.base.asset.ZipBufferEntryAsset;
 import org.jboss.shrinkwrap.impl.base.asset.ZipFileEntryAsset;
+import org.jboss.shrinkwrap.impl.base.io.IOUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -63,7 +72,7 @@ public class ZipImporterImplTestCase extends StreamImporterImplTestBase<ZipImpor
     // -------------------------------------------------------------------------------------||
 
     @AfterEach
-    public void clearDiskBufferThreshold() {
+    public void clearSystemProperties() {
         System.clearProperty("shrinkwrap.zipImporter.diskBufferThresholdMb");
     }
 
@@ -173,8 +182,8 @@ public class ZipImporterImplTestCase extends StreamImporterImplTestBase<ZipImpor
                     continue;
                 }
                 fileEntries++;
-                Assertions.assertInstanceOf(ByteArrayAsset.class, asset,
-                        "In-memory path should use ByteArrayAsset but found " + asset.getClass().getSimpleName());
+                Assertions.assertInstanceOf(ZipBufferEntryAsset.class, asset,
+                        "In-memory path should use ZipBufferEntryAsset but found " + asset.getClass().getSimpleName());
             }
             Assertions.assertTrue(fileEntries > 0, "Archive should contain at least one file entry");
         }
@@ -211,6 +220,120 @@ public class ZipImporterImplTestCase extends StreamImporterImplTestBase<ZipImpor
         }
     }
 
+    /**
+     * Ensures that importing a file in memory-mapped mode produces correct content, inflated from the mapped file
+     */
+    @Test
+    public void shouldImportFileMemoryMapped() throws Exception {
+        final File testFile = delegate.getExistingResource();
+        final Domain domain = ShrinkWrap.createDomain(new ConfigurationBuilder().memoryMappedImport(true));
+        final Archive<?> archive = domain.getArchiveFactory().create(ZipImporter.class, "test.jar")
+            .importFrom(testFile).as(JavaArchive.class);
+
+        Assertions.assertNotNull(archive, "Should not return a null archive");
+        delegate.assertContent(archive, testFile);
+
+        int fileEntries = 0;
+        for (Node node : archive.getContent().values()) {
+            final Asset asset = node.getAsset();
+            if (asset == null) {
+                continue;
+            }
+            fileEntries++;
+            Assertions.assertInstanceOf(ZipBufferEntryAsset.class, asset,
+                "Memory-mapped import should use ZipBufferEntryAsset but found " + asset.getClass().getSimpleName());
+        }
+        Assertions.assertTrue(fileEntries > 0, "Archive should contain at least one file entry");
+    }
+
+    /**
+     * Ensures that entries imported from a file, which share a single handle to it, may be read concurrently and again
+     * after their streams have been closed
+     */
+    @Test
+    public void shouldReadEntriesThroughSharedFile() throws Exception {
+        final File testFile = delegate.getExistingResource();
+        final Archive<?> archive = ShrinkWrap.create(ZipImporter.class, "test.jar").importFrom(testFile)
+            .as(JavaArchive.class);
+
+        try (ZipFile expected = new ZipFile(testFile)) {
+            // Keep one stream open while all the others are read and closed
+            final Enumeration<? extends ZipEntry> entries = expected.entries();
+            ZipEntry first = null;
+            InputStream held = null;
+            try {
+                while (entries.hasMoreElements()) {
+                    final ZipEntry entry = entries.nextElement();
+                    if (entry.isDirectory()) {
+                        continue;
+                    }
+                    final Asset asset = archive.get(entry.getName()).getAsset();
+                    if (held == null) {
+                        first = entry;
+                        held = asset.openStream();
+                        continue;
+                    }
+                    try (InputStream in = asset.openStream(); InputStream ref = expected.getInputStream(entry)) {
+                        Assertions.assertArrayEquals(IOUtil.asByteArray(ref), IOUtil.asByteArray(in),
+                            "Unexpected content for " + entry.getName());
+                    }
+                }
+                Assertions.assertNotNull(held, "Test archive should contain at least one file entry");
+                try (InputStream ref = expected.getInputStream(first)) {
+                    Assertions.assertArrayEquals(IOUtil.asByteArray(ref), IOUtil.asByteArray(held),
+                        "Unexpected content for " + first.getName());
+                }
+            } finally {
+                if (held != null) {
+                    held.close();
+                }
+            }
+
+            // Streams may be opened again once all have been closed
+            try (InputStream in = archive.get(first.getName()).getAsset().openStream();
+                 InputStream ref = expected.getInputStream(first)) {
+                Assertions.assertArrayEquals(IOUtil.asByteArray(ref), IOUtil.asByteArray(in),
+                    "Unexpected content for " + first.getName());
+            }
+        }
+    }
+
+    /**
+     * Ensures that an entry imported from a stream whose content does not match its recorded CRC fails to be read, as
+     * with {@link java.util.zip.ZipInputStream}
+     */
+    @Test
+    public void shouldRejectCorruptEntryImportedFromStream() throws Exception {
+        final byte[] content = "corruptible content".getBytes(StandardCharsets.UTF_8);
+        final CRC32 crc = new CRC32();
+        crc.update(content);
+        final ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(zip)) {
+            final ZipEntry entry = new ZipEntry("a.txt");
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(content.length);
+            entry.setCrc(crc.getValue());
+            out.putNextEntry(entry);
+            out.write(content);
+        }
+
+        // Flip a byte of the stored data
+        final byte[] bytes = zip.toByteArray();
+        final String raw = new String(bytes, StandardCharsets.ISO_8859_1);
+        bytes[raw.indexOf("corruptible")] ^= 1;
+
+        final Archive<?> archive = ShrinkWrap.create(ZipImporter.class, "test.jar")
+            .importFrom(new ByteArrayInputStream(bytes)).as(JavaArchive.class);
+        try (InputStream in = archive.get("a.txt").getAsset().openStream()) {
+            Assertions.assertThrows(ZipException.class, () -> {
+                final byte[] buffer = new byte[64];
+                while (in.read(buffer) != -1) {
+                    // Read to the end
+                }
+            }, "Corrupt entry should fail to be read");
+        }
+    }
+
     /**
      * SHRINKWRAP-259
      */
@@ -16,6 +16,7 @@
  */
 package org.jboss.shrinkwrap.impl.base.nio2.file;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.FileStore;
@@ -23,10 +24,12 @@ import java.nio.file.FileSystem;
 import java.nio.file.attribute.BasicFileAttributeView;
 import java.nio.file.attribute.FileAttributeView;
 import java.nio.file.attribute.FileStoreAttributeView;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.shrinkwrap.api.ArchivePath;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
 import org.jboss.shrinkwrap.api.asset.Asset;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
 import org.jboss.shrinkwrap.api.nio2.file.ShrinkWrapFileSystems;
 import org.jboss.shrinkwrap.api.spec.JavaArchive;
 import org.junit.jupiter.api.AfterEach;
@@ -92,6 +95,22 @@ public class FileStoreTestCase {
                 "Size of archive as reported by file store is not equal to the size of the contained class");
     }
 
+    @Test
+    public void usedSpaceReadsContentOnlyIfLengthUnknown() throws IOException {
+        // One asset of known length, one which has to be read to be counted
+        final AtomicInteger opened = new AtomicInteger();
+        archive.add(new StringAsset("known"), "known");
+        archive.add(() -> {
+            opened.incrementAndGet();
+            return new ByteArrayInputStream(new byte[100]);
+        }, "unknown");
+
+        final ShrinkWrapFileStore store = (ShrinkWrapFileStore) this.fileStore;
+        Assertions.assertEquals(105L, store.getUsedSpace());
+        Assertions.assertEquals(105L, store.getUsedSpace());
+        Assertions.assertEquals(1, opened.get(), "Size of the asset should have been counted once");
+    }
+
     @Test
     public void totalSpace() throws IOException {
         // We can't really test this value properly as the JVM can reallocate memory in between calls, so just ensure
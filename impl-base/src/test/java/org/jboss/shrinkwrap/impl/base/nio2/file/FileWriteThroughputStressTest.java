@@ -0,0 +1,66 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.nio2.file;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Logger;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.nio2.file.ShrinkWrapFileSystems;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Throughput of writing a large file in 8 KB chunks through {@link Files#newOutputStream(Path, java.nio.file.OpenOption...)}
+ * on a ShrinkWrap {@link FileSystem}, which buffers the content in memory. Runs in the stress profile, whose forked
+ * JVM has the heap of at least 1 GB this needs; compare the logged figures.
+ */
+public class FileWriteThroughputStressTest {
+
+    private static final Logger log = Logger.getLogger(FileWriteThroughputStressTest.class.getName());
+
+    private static final long FILE_SIZE = 256L * 1024 * 1024;
+
+    private static final int CHUNK_SIZE = 8192;
+
+    @Test
+    public void write() throws IOException {
+        final byte[] chunk = new byte[CHUNK_SIZE];
+        for (int i = 0; i < chunk.length; i++) {
+            chunk[i] = (byte) i;
+        }
+
+        try (final FileSystem fs = ShrinkWrapFileSystems.newFileSystem(ShrinkWrap.create(JavaArchive.class))) {
+            final Path path = fs.getPath("large.bin");
+            final long start = System.nanoTime();
+            try (final OutputStream out = Files.newOutputStream(path)) {
+                for (long written = 0; written < FILE_SIZE; written += CHUNK_SIZE) {
+                    out.write(chunk);
+                }
+            }
+            final long nanos = System.nanoTime() - start;
+            Assertions.assertEquals(FILE_SIZE, Files.size(path));
+            log.info("Wrote " + (FILE_SIZE >> 20) + " MB in " + nanos / 1000000 + " ms: "
+                + (nanos == 0 ? 0 : (FILE_SIZE >> 20) * 1000000000L / nanos) + " MB/s");
+        }
+    }
+}
@@ -26,7 +26,11 @@ import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
 import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.DirectoryNotEmptyException;
@@ -49,6 +53,7 @@ import java.util.Iterator;
 
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
 import org.jboss.shrinkwrap.api.asset.EmptyAsset;
 import org.jboss.shrinkwrap.api.asset.StringAsset;
 import org.jboss.shrinkwrap.api.nio2.file.ShrinkWrapFileSystems;
@@ -649,6 +654,63 @@ public class FilesTestCase {
         }
     }
 
+    @Test
+    public void newFileChannelReadsAssetInPlace() throws IOException {
+        final byte[] contents = "Some contents to be read in place".getBytes(StandardCharsets.US_ASCII);
+        this.getArchive().add(ByteArrayAsset.wrap(contents), "path");
+        try (final FileChannel channel = FileChannel.open(fs.getPath("path"), StandardOpenOption.READ)) {
+            Assertions.assertEquals(contents.length, channel.size());
+
+            // Positional reads leave the position alone
+            final ByteBuffer buffer = ByteBuffer.allocate(8);
+            channel.read(buffer, 5);
+            Assertions.assertEquals("contents", new String(buffer.array(), StandardCharsets.US_ASCII));
+            Assertions.assertEquals(0, channel.position());
+
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Assertions.assertEquals(contents.length - 5, channel.transferTo(5, Long.MAX_VALUE, Channels.newChannel(out)));
+            Assertions.assertEquals("contents to be read in place", out.toString("US-ASCII"));
+
+            Assertions.assertThrows(NonWritableChannelException.class, () -> channel.write(ByteBuffer.allocate(1)));
+        }
+    }
+
+    @Test
+    public void newFileChannelStopsTransferToFullTarget() throws IOException {
+        final byte[] contents = "Some contents to be transferred".getBytes(StandardCharsets.US_ASCII);
+        try (final FileChannel channel = FileChannel.open(fs.getPath("path"), StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(contents));
+
+            // Non-blocking target accepting 8 bytes only
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final WritableByteChannel target = new WritableByteChannel() {
+                @Override
+                public int write(final ByteBuffer src) {
+                    final int written = Math.min(src.remaining(), 8 - out.size());
+                    for (int i = 0; i < written; i++) {
+                        out.write(src.get());
+                    }
+                    return written;
+                }
+
+                @Override
+                public boolean isOpen() {
+                    return true;
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+            Assertions.assertEquals(8, channel.transferTo(0, contents.length, target));
+            Assertions.assertEquals("Some con", out.toString("US-ASCII"));
+
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> channel.read(new ByteBuffer[1], 1, 1));
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> channel.write(new ByteBuffer[1], -1, 1));
+        }
+    }
+
     @Test
     public void newByteChannelForReadDoesntExist() {
         Assertions.assertThrows(IllegalArgumentException.class,
@@ -791,6 +853,30 @@ public class FilesTestCase {
         }
     }
 
+    @Test
+    public void directoryStreamListsFilteredChildrenOfNestedDirectory() throws Exception {
+        Files.createDirectories(fs.getPath("dir/subdir/deeper"));
+        Files.createFile(fs.getPath("dir/subdir/file.txt"));
+        Files.createFile(fs.getPath("dir/subdir/file.xml"));
+        Files.createFile(fs.getPath("dir/other.txt"));
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(fs.getPath("dir/subdir"),
+            path -> path.toString().endsWith(".txt"))) {
+            Iterator<Path> it = stream.iterator();
+            Assertions.assertEquals("/dir/subdir/file.txt", it.next().toString());
+            Assertions.assertFalse(it.hasNext(), "No further elements expected in stream");
+        }
+    }
+
+    @Test
+    public void directoryStreamIteratorEndsWhenClosed() throws Exception {
+        Files.createDirectory(fs.getPath("dir"));
+        Files.createFile(fs.getPath("dir/file"));
+        final DirectoryStream<Path> stream = Files.newDirectoryStream(fs.getPath("dir"));
+        final Iterator<Path> it = stream.iterator();
+        stream.close();
+        Assertions.assertFalse(it.hasNext(), "A closed stream should behave as if the end was reached");
+    }
+
     @Test
     public void createdDirectoryCanBeWalked() throws Exception {
         Path dirPath = fs.getPath("dir");
@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2026, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.shrinkwrap.impl.base.path;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Throughput of looking up {@link BasicPath} keys in a {@link HashMap}, as archives do for every entry access, with
+ * lookup keys created fresh (and in part with a following slash) so that neither identity nor a hash computed earlier
+ * on the same instance helps. Runs in the stress profile; compare the logged figures.
+ */
+public class BasicPathLookupStressTest {
+
+    private static final Logger log = Logger.getLogger(BasicPathLookupStressTest.class.getName());
+
+    private static final int PATHS = 10000;
+
+    private static final int LOOKUPS = 2000000;
+
+    private static final int ROUNDS = 5;
+
+    @Test
+    public void lookup() {
+        final Map<ArchivePath, Integer> map = new HashMap<>();
+        final ArchivePath[] keys = new ArchivePath[PATHS];
+        for (int i = 0; i < PATHS; i++) {
+            final String context = "/org/jboss/shrinkwrap/package" + (i % 100) + "/Type" + i + ".class";
+            map.put(new BasicPath(context), i);
+            keys[i] = new BasicPath(i % 2 == 0 ? context : context + ArchivePath.SEPARATOR);
+        }
+
+        // Warm up
+        lookup(map, keys);
+
+        long nanos = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            final long start = System.nanoTime();
+            Assertions.assertEquals(LOOKUPS, lookup(map, keys));
+            nanos += System.nanoTime() - start;
+        }
+        log.info("BasicPath lookups: " + (nanos == 0 ? 0 : LOOKUPS * ROUNDS * 1000000L / nanos) + " per ms");
+    }
+
+    private static int lookup(final Map<ArchivePath, Integer> map, final ArchivePath[] keys) {
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (map.get(keys[i % PATHS]) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
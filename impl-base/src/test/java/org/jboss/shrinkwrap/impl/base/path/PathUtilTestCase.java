@@ -3,7 +3,6 @@ package org.jboss.shrinkwrap.impl.base.path;
 import java.util.logging.Logger;
 
 import org.jboss.shrinkwrap.api.ArchivePath;
-import org.jboss.shrinkwrap.api.ArchivePaths;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -158,31 +157,4 @@ public class PathUtilTestCase {
         Assertions.assertEquals(expected, result, "Composing an absolute context from base and context did not succeed");
     }
 
-    /**
-     * Ensures the contract of {@link PathUtil#getParent(ArchivePath)} is intact
-     */
-    @Test
-    public void testParent() {
-        // Log
-        log.info("testParent");
-
-        // Create new paths
-        final String rootString = "/";
-        final String subpathString = "subpath/";
-        final String contextString = "context";
-        final String contextWithFollowingSlashString = "context/";
-        final ArchivePath root = ArchivePaths.create(rootString);
-        final ArchivePath subpath = ArchivePaths.create(subpathString);
-        final ArchivePath context = ArchivePaths.create(subpath, contextString);
-        final ArchivePath contextWithFollowingSlash = new BasicPath(subpath, contextWithFollowingSlashString);
-
-        // Test
-        Assertions.assertEquals(subpath, PathUtil.getParent(context),
-                "The parent of the context path should be equal to the initial subpath");
-        Assertions.assertEquals(subpath, PathUtil.getParent(contextWithFollowingSlash),
-                "The parent of the context path with a following slash should be equal to the initial subpath");
-        Assertions.assertEquals(root, PathUtil.getParent(subpath), "The parent of the subpath should be the root");
-        Assertions.assertNull(PathUtil.getParent(root), "The parent of the root should be null");
-    }
-
 }
@@ -269,6 +269,33 @@ public abstract class PathsTestBase {
         log.info("Both " + path1 + " and " + path2 + " have hashCode: " + hash1);
     }
 
+    /**
+     * Ensures that Paths equal by value regardless of a following slash have equal hash codes
+     */
+    @Test
+    public void testHashCodeIgnoresFollowingSlash() {
+        // Create new paths
+        final String context = "context/nested";
+        final ArchivePath path = this.createPath(context);
+        final ArchivePath pathWithFollowingSlash = this.createPath(context + ArchivePath.SEPARATOR);
+
+        // Ensure expected
+        Assertions.assertEquals(path, pathWithFollowingSlash);
+        Assertions.assertEquals(path.hashCode(), pathWithFollowingSlash.hashCode(),
+                "Paths equal by value should have equal hash codes");
+        Assertions.assertEquals(this.createPath("/"), this.createPath(""), "Root should equal root");
+    }
+
+    /**
+     * Ensures that the parent of a Path is resolved regardless of a following slash
+     */
+    @Test
+    public void testParent() {
+        Assertions.assertEquals(this.createPath("/context"), this.createPath("/context/nested/").getParent());
+        Assertions.assertEquals(this.createPath("/"), this.createPath("/context/").getParent());
+        Assertions.assertNull(this.createPath("/").getParent(), "Root should have no parent");
+    }
+
     /**
      * Ensures that Paths with equal contexts are equal by value
      */
@@ -18,6 +18,8 @@ package org.jboss.shrinkwrap.impl.base.path;
 
 import org.jboss.shrinkwrap.api.ArchivePath;
 import org.jboss.shrinkwrap.api.ArchivePaths;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 
 /**
  * PathsTestCase
@@ -86,4 +88,29 @@ public class PathsTestCase extends PathsTestBase {
     ArchivePath createPath(final String base, final ArchivePath context) {
         return ArchivePaths.create(base, context);
     }
+
+    // -------------------------------------------------------------------------------------||
+    // Tests ------------------------------------------------------------------------------||
+    // -------------------------------------------------------------------------------------||
+
+    /**
+     * Ensures that frequently used paths are shared, whether given in absolute or relative form, and still equal to
+     * paths created directly
+     */
+    @Test
+    public void shouldShareInternedPaths() {
+        final ArchivePath path = ArchivePaths.create("WEB-INF/lib");
+
+        Assertions.assertSame(path, ArchivePaths.create("/WEB-INF/lib"), "Interned path should be shared");
+        Assertions.assertEquals(new BasicPath("/WEB-INF/lib"), path);
+        Assertions.assertEquals("/WEB-INF/lib", path.get());
+    }
+
+    /**
+     * Ensures that failures of the path implementation are reported as before binding its constructors
+     */
+    @Test
+    public void shouldReportCreationFailure() {
+        Assertions.assertThrows(RuntimeException.class, () -> ArchivePaths.create((ArchivePath) null, "path"));
+    }
 }
@@ -22,7 +22,9 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ArchiveFormat;
@@ -900,6 +902,50 @@ public abstract class ArchiveTestBase<T extends Archive<T>> {
         Assertions.assertNotNull(node2, "Should be included in content");
     }
 
+    /**
+     * Ensure get content returns a read-only view reflecting later changes, which the archive may be merged into
+     * while it is iterated
+     */
+    @Test
+    public void testGetContentIsReadOnlyLiveView() {
+        Archive<T> archive = getArchive();
+        ArchivePath location = new BasicPath("/", "test.properties");
+        archive.add(new ClassLoaderAsset(NAME_TEST_PROPERTIES), location);
+
+        Map<ArchivePath, Node> content = archive.getContent();
+        final int size = content.size();
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> content.remove(location));
+
+        // Merging into itself must only copy the content present when the merge started
+        archive.merge(archive, "/copy");
+
+        Assertions.assertEquals(size * 2 + 1, content.size(), "View should reflect the merged content");
+        Assertions.assertTrue(content.containsKey(new BasicPath("/copy", location)),
+                "View should reflect the merged content");
+    }
+
+    /**
+     * Ensure stream content returns the nodes matching the given filter, in the order they were added
+     */
+    @Test
+    public void testStreamContentFiltered() {
+        Archive<T> archive = getArchive();
+        ArchivePath location = new BasicPath("/", "test.properties");
+        ArchivePath locationTwo = new BasicPath("/", "test2.properties");
+        ArchivePath locationThree = new BasicPath("/", "test3.properties");
+
+        archive.add(new ClassLoaderAsset(NAME_TEST_PROPERTIES), location)
+            .add(new ClassLoaderAsset(NAME_TEST_PROPERTIES_2), locationTwo)
+            .add(new ClassLoaderAsset(NAME_TEST_PROPERTIES), locationThree);
+
+        final List<ArchivePath> paths = archive.streamContent(Filters.include(".*test[23].*")).map(Node::getPath)
+            .collect(Collectors.toList());
+
+        Assertions.assertEquals(Arrays.asList(locationTwo, locationThree), paths,
+                "Only matching nodes should be streamed, in order");
+    }
+
     /**
      * Ensure adding an archive to a path requires a path
      *
@@ -1259,6 +1305,30 @@ public abstract class ArchiveTestBase<T extends Archive<T>> {
                 "Nested archive assets should be verified through a fully qualified path");
     }
 
+    /**
+     * Ensure nested archive assets are only resolved under the path the nested archive is mounted at, not under
+     * siblings sharing its name as a prefix.
+     */
+    @Test
+    public void testNestedArchiveContainsOnlyUnderMountPoint() {
+        Archive<T> archive = getArchive();
+
+        Archive<T> sourceArchive = createNewArchive();
+
+        sourceArchive.add(new ClassLoaderAsset(NAME_TEST_PROPERTIES), new BasicPath("/", "test.properties"));
+
+        ArchivePath baseLocation = new BasicPath("somewhere");
+
+        archive.add(sourceArchive, baseLocation, ZipExporter.class);
+
+        ArchivePath siblingPath = new BasicPath(baseLocation, sourceArchive.getName() + ".bak");
+
+        Assertions.assertFalse(archive.contains(new BasicPath(siblingPath, "test.properties")),
+                "Nested archive assets should not be found under a sibling path");
+        Assertions.assertNull(archive.get(new BasicPath(siblingPath, "test.properties")),
+                "Nested archive assets should not be found under a sibling path");
+    }
+
     /**
      * Ensure assets from a nested archive are accessible from parent archives.
      *
@@ -950,6 +950,32 @@ public abstract class DynamicContainerTestBase<T extends Archive<T>> extends Arc
         }
     }
 
+    /**
+     * Ensure the package of classes added together is scanned for inner classes only once
+     */
+    @Test
+    @ArchiveType(ClassContainer.class)
+    public void testAddClassesScansPackageOnce() throws Exception {
+        try (ClassLoaderTester myClassLoader = new ClassLoaderTester("cl-test.jar")) {
+            Class<?> dummyClass = myClassLoader.loadClass("test.classloader.DummyClass");
+            Class<?> dummyInnerClass = myClassLoader.loadClass("test.classloader.DummyClass$DummyInnerClass");
+            getClassContainer().addClasses(dummyClass);
+            final int lookupsPerScan = myClassLoader.getResourcesLookups();
+            Assertions.assertTrue(lookupsPerScan > 0, "Classloader not used to load inner class");
+
+            getClassContainer().addClasses(dummyClass, dummyInnerClass, dummyClass);
+            Assertions.assertEquals(2 * lookupsPerScan, myClassLoader.getResourcesLookups(),
+                "Package should be scanned once for all classes added together");
+        }
+
+        String[] expectedResources = { "/test/classloader/DummyClass", "/test/classloader/DummyClass$DummyInnerClass" };
+        for (String expectedResource : expectedResources) {
+            ArchivePath expectedClassPath = new BasicPath(getClassPath(),
+                AssetUtil.getFullPathForClassResource(expectedResource));
+            assertContainsClass(expectedClassPath);
+        }
+    }
+
     /**
      * Ensure a package can be added to a container
      *
@@ -2018,6 +2044,8 @@ public abstract class DynamicContainerTestBase<T extends Archive<T>> extends Arc
 
         private boolean usedForInnerClasses = false;
 
+        private int resourcesLookups = 0;
+
         public ClassLoaderTester(String resource) throws MalformedURLException, URISyntaxException {
             this(TestIOUtil.createFileFromResourceName(resource));
         }
@@ -2039,6 +2067,7 @@ public abstract class DynamicContainerTestBase<T extends Archive<T>> extends Arc
         @Override
         public Enumeration<URL> getResources(String name) throws IOException {
             usedForInnerClasses = true;
+            resourcesLookups++;
             return super.getResources(name);
         }
 
@@ -2046,6 +2075,10 @@ public abstract class DynamicContainerTestBase<T extends Archive<T>> extends Arc
             return usedForInnerClasses;
         }
 
+        public int getResourcesLookups() {
+            return resourcesLookups;
+        }
+
     }
 
     private ArchivePath getArchivePathFromClass(Class<?> clazz) {
@@ -16,6 +16,14 @@
  */
 package org.jboss.shrinkwrap.impl.base.unit;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.jboss.shrinkwrap.api.ArchiveFormat;
 import org.jboss.shrinkwrap.api.ArchivePath;
 import org.jboss.shrinkwrap.api.Node;
@@ -125,6 +133,47 @@ public class MemoryMapArchiveTestCase extends ArchiveTestBase<MemoryMapArchive>
         Assertions.assertSame(nodeFromMapAfter, nodeFromTreeAfter, "Map and Tree should point to the same Node instance");
     }
 
+    /**
+     * Ensures that assets added from several threads at once, under shared parent directories, all end up in both the
+     * content Map and the parent Nodes' children, with parents preceding their children.
+     */
+    @Test
+    public void testConcurrentAdd() throws Exception {
+        final int threads = 4;
+        final int assetsPerThread = 1000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < assetsPerThread; i++) {
+                        archive.add(new StringAsset("content"), "/dir" + (i % 10) + "/asset" + thread + "_" + i);
+                        archive.addAsDirectory("/dir" + (i % 10));
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertEquals(threads * assetsPerThread + 10, archive.getContent().size());
+        int children = 0;
+        for (int d = 0; d < 10; d++) {
+            children += archive.get("/dir" + d).getChildren().size();
+        }
+        Assertions.assertEquals(threads * assetsPerThread, children);
+        final Set<ArchivePath> seen = new HashSet<>();
+        seen.add(new BasicPath("/"));
+        for (final ArchivePath path : archive.getContent().keySet()) {
+            Assertions.assertTrue(seen.contains(path.getParent()), "Parent should precede " + path);
+            seen.add(path);
+        }
+    }
+
     @Override
     protected ArchiveFormat getExpectedArchiveFormat() {
         return ArchiveFormat.UNKNOWN;